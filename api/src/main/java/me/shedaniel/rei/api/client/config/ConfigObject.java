@@ -289,6 +289,27 @@ public interface ConfigObject {
     @ApiStatus.Experimental
     boolean doesCacheDisplayLookup();
     
+    @ApiStatus.Experimental
+    boolean doesInternDisplayIngredients();
+    
+    /**
+     * Returns the maximum amount of results cached for cacheable dynamic display generators,
+     * {@code 0} disables the cache.
+     *
+     * @return the maximum amount of cached results
+     */
+    @ApiStatus.Experimental
+    int getDynamicDisplayCacheSize();
+    
+    /**
+     * Returns the amount of seconds after which cached results of dynamic display generators expire,
+     * {@code 0} keeps them until the next reload.
+     *
+     * @return the expiry of cached results in seconds
+     */
+    @ApiStatus.Experimental
+    int getDynamicDisplayCacheExpiry();
+    
     boolean doDebugRenderTimeRequired();
     
     boolean doMergeDisplayUnderOne();
@@ -29,6 +29,7 @@ import me.shedaniel.rei.api.common.display.Display;
 import me.shedaniel.rei.api.common.entry.EntryStack;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
+import org.jetbrains.annotations.ApiStatus;
 
 import java.util.List;
 import java.util.Optional;
@@ -80,4 +81,18 @@ public interface DynamicDisplayGenerator<T extends Display> {
     default Optional<List<T>> generate(ViewSearchBuilder builder) {
         return Optional.empty();
     }
+    
+    /**
+     * Returns whether the results of {@link #getRecipeFor(EntryStack)} and {@link #getUsageFor(EntryStack)}
+     * only depend on the stack queried, and may be cached until the next reload.
+     * <p>
+     * Results of {@link #generate(ViewSearchBuilder)} are never cached.
+     *
+     * @return whether the results of this generator may be cached
+     * @since 16.0
+     */
+    @ApiStatus.Experimental
+    default boolean cacheable() {
+        return false;
+    }
 }
@@ -24,6 +24,7 @@
 package me.shedaniel.rei.api.client.registry.screen;
 
 import me.shedaniel.math.Point;
+import me.shedaniel.math.Rectangle;
 import me.shedaniel.rei.api.common.category.CategoryIdentifier;
 import me.shedaniel.rei.impl.ClientInternals;
 import net.fabricmc.api.EnvType;
@@ -42,6 +43,24 @@ import java.util.stream.Stream;
 public interface ClickArea<T extends Screen> {
     Result handle(ClickAreaContext<T> context);
     
+    /**
+     * Returns the bounds of this click area for the given screen, in the same coordinates as
+     * {@link ClickAreaContext#getMousePosition()}, or {@code null} if the bounds are not known.
+     * <p>
+     * Click areas with bounds are only evaluated when the mouse is within the bounds, and their results
+     * are reused while neither the mouse nor the layout of the screen changes. The bounds are only queried
+     * again when the size of the screen or the position of the container changes, so only declare them
+     * if they depend on nothing else; click areas returning {@code null} are evaluated on every lookup.
+     *
+     * @param screen the screen
+     * @return the bounds of this click area, or {@code null} if unknown
+     */
+    @ApiStatus.Experimental
+    @Nullable
+    default Rectangle getBounds(T screen) {
+        return null;
+    }
+    
     @ApiStatus.NonExtendable
     interface ClickAreaContext<T extends Screen> {
         T getScreen();
@@ -37,6 +37,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 
 /**
  * A basic implementation of a display, consisting of a list of inputs, a list of outputs
@@ -86,6 +87,19 @@ public abstract class BasicDisplay implements Display {
         return location;
     }
     
+    /**
+     * Replaces the inputs and outputs of this display with canonical instances, so that equal
+     * ingredients are shared between displays. This is called by REI at the end of reload
+     * when ingredient interning is enabled.
+     *
+     * @param interner the interner, returning the same list if nothing was replaced
+     */
+    @ApiStatus.Internal
+    public void internIngredients(UnaryOperator<List<EntryIngredient>> interner) {
+        this.inputs = interner.apply(this.inputs);
+        this.outputs = interner.apply(this.outputs);
+    }
+    
     /**
      * A basic serializer for {@link BasicDisplay}s.
      *
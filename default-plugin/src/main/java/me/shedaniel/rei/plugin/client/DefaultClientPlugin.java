@@ -41,7 +41,6 @@ import me.shedaniel.rei.api.client.registry.screen.ExclusionZones;
 import me.shedaniel.rei.api.client.registry.screen.ScreenRegistry;
 import me.shedaniel.rei.api.client.registry.transfer.TransferHandlerRegistry;
 import me.shedaniel.rei.api.client.registry.transfer.simple.SimpleTransferHandler;
-import me.shedaniel.rei.api.common.display.basic.BasicDisplay;
 import me.shedaniel.rei.api.common.entry.EntryIngredient;
 import me.shedaniel.rei.api.common.entry.EntryStack;
 import me.shedaniel.rei.api.common.entry.type.VanillaEntryTypes;
@@ -51,6 +50,7 @@ import me.shedaniel.rei.impl.ClientInternals;
 import me.shedaniel.rei.plugin.autocrafting.InventoryCraftingTransferHandler;
 import me.shedaniel.rei.plugin.autocrafting.recipebook.DefaultRecipeBookHandler;
 import me.shedaniel.rei.plugin.client.categories.*;
+import me.shedaniel.rei.plugin.client.categories.anvil.AnvilEnchantingDisplayGenerator;
 import me.shedaniel.rei.plugin.client.categories.anvil.DefaultAnvilCategory;
 import me.shedaniel.rei.plugin.client.categories.beacon.DefaultBeaconBaseCategory;
 import me.shedaniel.rei.plugin.client.categories.beacon.DefaultBeaconPaymentCategory;
@@ -58,6 +58,7 @@ import me.shedaniel.rei.plugin.client.categories.cooking.DefaultCookingCategory;
 import me.shedaniel.rei.plugin.client.categories.crafting.DefaultCraftingCategory;
 import me.shedaniel.rei.plugin.client.categories.crafting.filler.*;
 import me.shedaniel.rei.plugin.client.categories.tag.DefaultTagCategory;
+import me.shedaniel.rei.plugin.client.categories.tag.TagDisplayGenerator;
 import me.shedaniel.rei.plugin.client.exclusionzones.DefaultPotionEffectExclusionZones;
 import me.shedaniel.rei.plugin.client.exclusionzones.DefaultRecipeBookExclusionZones;
 import me.shedaniel.rei.plugin.client.favorites.GameModeFavoriteEntry;
@@ -83,7 +84,6 @@ import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.screens.inventory.*;
 import net.minecraft.client.gui.screens.recipebook.RecipeUpdateListener;
 import net.minecraft.core.Holder;
-import net.minecraft.core.Registry;
 import net.minecraft.core.component.DataComponents;
 import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.core.registries.Registries;
@@ -98,8 +98,6 @@ import net.minecraft.world.item.alchemy.Potion;
 import net.minecraft.world.item.alchemy.PotionBrewing;
 import net.minecraft.world.item.alchemy.PotionContents;
 import net.minecraft.world.item.crafting.*;
-import net.minecraft.world.item.enchantment.Enchantment;
-import net.minecraft.world.item.enchantment.EnchantmentInstance;
 import net.minecraft.world.level.GameType;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.ComposterBlock;
@@ -115,7 +113,6 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.*;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
-import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 @Environment(EnvType.CLIENT)
@@ -318,17 +315,7 @@ public class DefaultClientPlugin implements REIClientPlugin, BuiltinClientPlugin
         registry.registerRecipesFiller(SmithingTrimRecipe.class, RecipeType.SMITHING, DefaultSmithingDisplay::fromTrimming);
         registry.registerFiller(AnvilRecipe.class, DefaultAnvilDisplay::new);
         registry.registerFiller(BrewingRecipe.class, DefaultBrewingDisplay::new);
-        registry.registerFiller(TagKey.class, tagKey -> {
-            if (tagKey.isFor(Registries.ITEM)) {
-                return DefaultTagDisplay.ofItems(tagKey);
-            } else if (tagKey.isFor(Registries.BLOCK)) {
-                return DefaultTagDisplay.ofItems(tagKey);
-            } else if (tagKey.isFor(Registries.FLUID)) {
-                return DefaultTagDisplay.ofFluids(tagKey);
-            }
-            
-            return null;
-        });
+        registry.registerFiller(TagKey.class, DefaultTagDisplay::of);
         for (Map.Entry<Item, Integer> entry : AbstractFurnaceBlockEntity.getFuel().entrySet()) {
             registry.add(new DefaultFuelDisplay(Collections.singletonList(EntryIngredients.of(entry.getKey())), Collections.emptyList(), entry.getValue()));
         }
@@ -433,40 +420,8 @@ public class DefaultClientPlugin implements REIClientPlugin, BuiltinClientPlugin
                         Collections.singletonList(EntryIngredients.of(output.get().getLeft())), Optional.empty(), OptionalInt.of(output.get().getRight())));
             }
         }
-        List<Pair<EnchantmentInstance, ItemStack>> enchantmentBooks = BasicDisplay.registryAccess().registry(Registries.ENCHANTMENT)
-                .stream()
-                .flatMap(Registry::holders)
-                .flatMap(holder -> {
-                    if (!holder.isBound()) return Stream.empty();
-                    Enchantment enchantment = holder.value();
-                    if (enchantment.getMaxLevel() - enchantment.getMinLevel() >= 10) {
-                        return IntStream.of(enchantment.getMinLevel(), enchantment.getMaxLevel())
-                                .mapToObj(lvl -> new EnchantmentInstance(holder, lvl));
-                    } else {
-                        return IntStream.rangeClosed(enchantment.getMinLevel(), enchantment.getMaxLevel())
-                                .mapToObj(lvl -> new EnchantmentInstance(holder, lvl));
-                    }
-                })
-                .map(instance -> {
-                    return Pair.of(instance, EnchantedBookItem.createForEnchantment(instance));
-                })
-                .toList();
-        EntryRegistry.getInstance().getEntryStacks().forEach(stack -> {
-            if (stack.getType() != VanillaEntryTypes.ITEM) return;
-            ItemStack itemStack = stack.castValue();
-            if (!itemStack.isEnchantable()) return;
-            for (Pair<EnchantmentInstance, ItemStack> pair : enchantmentBooks) {
-                if (!pair.getKey().enchantment.value().canEnchant(itemStack)) continue;
-                Optional<Pair<ItemStack, Integer>> output = DefaultAnvilDisplay.calculateOutput(itemStack, pair.getValue());
-                if (output.isEmpty()) continue;
-                registry.add(new DefaultAnvilDisplay(List.of(EntryIngredients.of(itemStack), EntryIngredients.of(pair.getValue())),
-                        Collections.singletonList(EntryIngredients.of(output.get().getLeft())), Optional.empty(), OptionalInt.of(output.get().getRight())));
-            }
-        });
-        
-        for (Registry<?> reg : BuiltInRegistries.REGISTRY) {
-            reg.getTags().forEach(tagPair -> registry.add(tagPair.getFirst()));
-        }
+        registry.registerDisplayGenerator(BuiltinPlugin.ANVIL, AnvilEnchantingDisplayGenerator.create(EntryRegistry.getInstance().getEntryStacks().toList()));
+        registry.registerDisplayGenerator(BuiltinPlugin.TAG, new TagDisplayGenerator());
     }
     
     protected void registerForgePotions(DisplayRegistry registry, BuiltinClientPlugin clientPlugin) {
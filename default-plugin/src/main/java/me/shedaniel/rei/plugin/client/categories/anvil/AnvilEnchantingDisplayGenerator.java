@@ -0,0 +1,243 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022, 2023 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.plugin.client.categories.anvil;
+
+import com.google.common.base.Suppliers;
+import me.shedaniel.rei.api.client.registry.display.DynamicDisplayGenerator;
+import me.shedaniel.rei.api.client.view.ViewSearchBuilder;
+import me.shedaniel.rei.api.common.display.basic.BasicDisplay;
+import me.shedaniel.rei.api.common.entry.EntryStack;
+import me.shedaniel.rei.api.common.entry.type.VanillaEntryTypes;
+import me.shedaniel.rei.api.common.util.EntryIngredients;
+import me.shedaniel.rei.api.common.util.EntryStacks;
+import me.shedaniel.rei.plugin.common.BuiltinPlugin;
+import me.shedaniel.rei.plugin.common.displays.anvil.DefaultAnvilDisplay;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.core.Holder;
+import net.minecraft.core.Registry;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.world.item.EnchantedBookItem;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.enchantment.Enchantment;
+import net.minecraft.world.item.enchantment.EnchantmentInstance;
+import org.apache.commons.lang3.tuple.Pair;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Generates the anvil displays of applying enchanted books to enchantable stacks on demand.
+ * <p>
+ * The applicable enchanted books are indexed by item the first time an item is queried,
+ * displays are only materialized for the stacks and books a view is opened for.
+ */
+@Environment(EnvType.CLIENT)
+@ApiStatus.Internal
+public class AnvilEnchantingDisplayGenerator implements DynamicDisplayGenerator<DefaultAnvilDisplay> {
+    private final List<ItemStack> stacks;
+    private final Map<Item, List<ItemStack>> stacksByItem = new HashMap<>();
+    private final List<Pair<EnchantmentInstance, ItemStack>> books;
+    private final Map<Item, List<Pair<EnchantmentInstance, ItemStack>>> booksByItem = new ConcurrentHashMap<>();
+    private final BiFunction<ItemStack, ItemStack, Optional<Pair<ItemStack, Integer>>> calculator;
+    private final BiPredicate<ItemStack, ItemStack> matcher;
+    private final Supplier<List<DefaultAnvilDisplay>> allDisplays = Suppliers.memoize(this::createAllDisplays);
+    
+    /**
+     * @param stacks     the enchantable stacks, in the order of the entry registry
+     * @param books      the enchantments and their enchanted books
+     * @param calculator the calculator of the anvil output and its cost
+     * @param matcher    the fuzzy matcher of stacks, used to match the queried stacks
+     */
+    public AnvilEnchantingDisplayGenerator(List<ItemStack> stacks, List<Pair<EnchantmentInstance, ItemStack>> books,
+                                           BiFunction<ItemStack, ItemStack, Optional<Pair<ItemStack, Integer>>> calculator,
+                                           BiPredicate<ItemStack, ItemStack> matcher) {
+        this.stacks = List.copyOf(stacks);
+        this.books = List.copyOf(books);
+        this.calculator = calculator;
+        this.matcher = matcher;
+        for (ItemStack stack : this.stacks) {
+            this.stacksByItem.computeIfAbsent(stack.getItem(), $ -> new ArrayList<>()).add(stack);
+        }
+    }
+    
+    public static AnvilEnchantingDisplayGenerator create(Collection<EntryStack<?>> entries) {
+        List<ItemStack> stacks = new ArrayList<>();
+        for (EntryStack<?> entry : entries) {
+            if (entry.getType() != VanillaEntryTypes.ITEM) continue;
+            ItemStack stack = entry.castValue();
+            if (stack.isEnchantable()) stacks.add(stack);
+        }
+        return new AnvilEnchantingDisplayGenerator(stacks, createBooks(), DefaultAnvilDisplay::calculateOutput,
+                (first, second) -> EntryStacks.equalsFuzzy(EntryStacks.of(first), EntryStacks.of(second)));
+    }
+    
+    public static List<Pair<EnchantmentInstance, ItemStack>> createBooks() {
+        return createBooks(BasicDisplay.registryAccess().registry(Registries.ENCHANTMENT)
+                .stream()
+                .flatMap(Registry::holders));
+    }
+    
+    /**
+     * Creates the enchanted books of every level of the enchantments, only the lowest and the highest levels
+     * are created for enchantments with 10 or more levels.
+     */
+    public static List<Pair<EnchantmentInstance, ItemStack>> createBooks(Stream<? extends Holder<Enchantment>> enchantments) {
+        return enchantments
+                .flatMap(holder -> {
+                    if (!holder.isBound()) return Stream.empty();
+                    Enchantment enchantment = holder.value();
+                    if (enchantment.getMaxLevel() - enchantment.getMinLevel() >= 10) {
+                        return IntStream.of(enchantment.getMinLevel(), enchantment.getMaxLevel())
+                                .mapToObj(lvl -> new EnchantmentInstance(holder, lvl));
+                    } else {
+                        return IntStream.rangeClosed(enchantment.getMinLevel(), enchantment.getMaxLevel())
+                                .mapToObj(lvl -> new EnchantmentInstance(holder, lvl));
+                    }
+                })
+                .map(instance -> {
+                    return Pair.of(instance, EnchantedBookItem.createForEnchantment(instance));
+                })
+                .toList();
+    }
+    
+    @Override
+    public Optional<List<DefaultAnvilDisplay>> getRecipeFor(EntryStack<?> entry) {
+        if (entry.getType() != VanillaEntryTypes.ITEM) return Optional.empty();
+        return Optional.of(getRecipesFor(entry.<ItemStack>castValue()));
+    }
+    
+    @Override
+    public Optional<List<DefaultAnvilDisplay>> getUsageFor(EntryStack<?> entry) {
+        if (entry.getType() != VanillaEntryTypes.ITEM) return Optional.empty();
+        return Optional.of(getUsagesFor(entry.<ItemStack>castValue()));
+    }
+    
+    @Override
+    public Optional<List<DefaultAnvilDisplay>> generate(ViewSearchBuilder builder) {
+        if (builder.getCategories().contains(BuiltinPlugin.ANVIL)) {
+            return Optional.of(getAllDisplays());
+        }
+        
+        return Optional.empty();
+    }
+    
+    @Override
+    public boolean cacheable() {
+        return true;
+    }
+    
+    /**
+     * Returns the displays resulting in the given stack. Enchanting keeps the item of the
+     * enchanted stack, so only the stacks of the same item are evaluated.
+     */
+    public List<DefaultAnvilDisplay> getRecipesFor(ItemStack result) {
+        List<ItemStack> bases = stacksByItem.get(result.getItem());
+        if (bases == null) return List.of();
+        List<DefaultAnvilDisplay> displays = new ArrayList<>();
+        for (ItemStack base : bases) {
+            for (Pair<EnchantmentInstance, ItemStack> book : getBooks(base)) {
+                Optional<Pair<ItemStack, Integer>> output = calculator.apply(base, book.getValue());
+                if (output.isPresent() && matcher.test(output.get().getLeft(), result)) {
+                    displays.add(createDisplay(base, book.getValue(), output.get()));
+                }
+            }
+        }
+        return displays;
+    }
+    
+    /**
+     * Returns the displays using the given stack, either as the stack to enchant or as the enchanted book.
+     */
+    public List<DefaultAnvilDisplay> getUsagesFor(ItemStack input) {
+        Set<ItemStack> matchingBooks = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Pair<EnchantmentInstance, ItemStack> book : books) {
+            if (book.getValue().getItem() == input.getItem() && matcher.test(book.getValue(), input)) {
+                matchingBooks.add(book.getValue());
+            }
+        }
+        // Without a matching book, only the stacks of the same item may use the queried stack
+        List<ItemStack> candidates = matchingBooks.isEmpty() ? stacksByItem.get(input.getItem()) : stacks;
+        if (candidates == null) return List.of();
+        List<DefaultAnvilDisplay> displays = new ArrayList<>();
+        for (ItemStack base : candidates) {
+            boolean baseMatches = base.getItem() == input.getItem() && matcher.test(base, input);
+            if (!baseMatches && matchingBooks.isEmpty()) continue;
+            for (Pair<EnchantmentInstance, ItemStack> book : getBooks(base)) {
+                if (baseMatches || matchingBooks.contains(book.getValue())) {
+                    createDisplay(base, book.getValue()).ifPresent(displays::add);
+                }
+            }
+        }
+        return displays;
+    }
+    
+    /**
+     * Returns every display, as the eager registration would have registered them.
+     */
+    public List<DefaultAnvilDisplay> getAllDisplays() {
+        return allDisplays.get();
+    }
+    
+    /**
+     * Returns the enchanted books applicable to the stack, the enchantments only depend on the item.
+     */
+    private List<Pair<EnchantmentInstance, ItemStack>> getBooks(ItemStack stack) {
+        return booksByItem.computeIfAbsent(stack.getItem(), $ -> {
+            List<Pair<EnchantmentInstance, ItemStack>> applicable = new ArrayList<>();
+            for (Pair<EnchantmentInstance, ItemStack> book : books) {
+                if (book.getKey().enchantment.value().canEnchant(stack)) {
+                    applicable.add(book);
+                }
+            }
+            return applicable;
+        });
+    }
+    
+    private List<DefaultAnvilDisplay> createAllDisplays() {
+        List<DefaultAnvilDisplay> displays = new ArrayList<>();
+        for (ItemStack base : stacks) {
+            for (Pair<EnchantmentInstance, ItemStack> book : getBooks(base)) {
+                createDisplay(base, book.getValue()).ifPresent(displays::add);
+            }
+        }
+        return displays;
+    }
+    
+    private Optional<DefaultAnvilDisplay> createDisplay(ItemStack base, ItemStack book) {
+        return calculator.apply(base, book).map(output -> createDisplay(base, book, output));
+    }
+    
+    protected DefaultAnvilDisplay createDisplay(ItemStack base, ItemStack book, Pair<ItemStack, Integer> output) {
+        return new DefaultAnvilDisplay(List.of(EntryIngredients.of(base), EntryIngredients.of(book)),
+                Collections.singletonList(EntryIngredients.of(output.getLeft())), Optional.empty(), OptionalInt.of(output.getRight()));
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022, 2023 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.plugin.client.categories.tag;
+
+import com.google.common.base.Suppliers;
+import dev.architectury.fluid.FluidStack;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import me.shedaniel.rei.api.client.registry.display.DynamicDisplayGenerator;
+import me.shedaniel.rei.api.client.view.ViewSearchBuilder;
+import me.shedaniel.rei.api.common.entry.EntryIngredient;
+import me.shedaniel.rei.api.common.entry.EntryStack;
+import me.shedaniel.rei.api.common.entry.type.VanillaEntryTypes;
+import me.shedaniel.rei.api.common.util.EntryStacks;
+import me.shedaniel.rei.plugin.common.BuiltinPlugin;
+import me.shedaniel.rei.plugin.common.displays.tag.DefaultTagDisplay;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.core.Holder;
+import net.minecraft.core.Registry;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.material.Fluid;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Generates the displays of item, block and fluid tags on demand.
+ * <p>
+ * Only the tags each member belongs to are indexed, the displays and their contents are
+ * materialized when a tag is viewed. Tags are kept in the order of {@link BuiltInRegistries#REGISTRY}.
+ */
+@Environment(EnvType.CLIENT)
+@ApiStatus.Internal
+public class TagDisplayGenerator implements DynamicDisplayGenerator<DefaultTagDisplay<?, ?>> {
+    private final List<TagKey<?>> tags = new ArrayList<>();
+    /**
+     * The indices of the tags by member, keyed by {@link net.minecraft.world.item.Item} for items and blocks,
+     * and by {@link Fluid} for fluids.
+     */
+    private final Map<Object, IntList> index = new Reference2ObjectOpenHashMap<>();
+    private final AtomicReferenceArray<DefaultTagDisplay<?, ?>> displays;
+    private final Supplier<List<DefaultTagDisplay<?, ?>>> allDisplays = Suppliers.memoize(this::createAllDisplays);
+    
+    public TagDisplayGenerator() {
+        for (Registry<?> registry : BuiltInRegistries.REGISTRY) {
+            if (registry == BuiltInRegistries.ITEM || registry == BuiltInRegistries.FLUID) {
+                index(registry, Holder::value);
+            } else if (registry == BuiltInRegistries.BLOCK) {
+                // Block tags are displayed as the items of the blocks
+                index(BuiltInRegistries.BLOCK, holder -> holder.value().asItem());
+            }
+        }
+        this.displays = new AtomicReferenceArray<>(tags.size());
+    }
+    
+    private <T> void index(Registry<T> registry, Function<Holder<T>, Object> keyExtractor) {
+        registry.getTags().forEach(pair -> {
+            int tagIndex = tags.size();
+            tags.add(pair.getFirst());
+            for (Holder<T> holder : pair.getSecond()) {
+                IntList tagIndices = index.computeIfAbsent(keyExtractor.apply(holder), $ -> new IntArrayList(4));
+                if (tagIndices.isEmpty() || tagIndices.getInt(tagIndices.size() - 1) != tagIndex) {
+                    tagIndices.add(tagIndex);
+                }
+            }
+        });
+    }
+    
+    @Override
+    public Optional<List<DefaultTagDisplay<?, ?>>> getRecipeFor(EntryStack<?> entry) {
+        return Optional.ofNullable(getDisplaysFor(entry));
+    }
+    
+    @Override
+    public Optional<List<DefaultTagDisplay<?, ?>>> getUsageFor(EntryStack<?> entry) {
+        return Optional.ofNullable(getDisplaysFor(entry));
+    }
+    
+    @Override
+    public Optional<List<DefaultTagDisplay<?, ?>>> generate(ViewSearchBuilder builder) {
+        if (builder.getCategories().contains(BuiltinPlugin.TAG)) {
+            return Optional.of(allDisplays.get());
+        }
+        
+        return Optional.empty();
+    }
+    
+    @Override
+    public boolean cacheable() {
+        return true;
+    }
+    
+    /**
+     * Returns the displays of the tags containing the stack, tag displays have the same inputs and outputs.
+     */
+    @Nullable
+    private List<DefaultTagDisplay<?, ?>> getDisplaysFor(EntryStack<?> entry) {
+        Object key;
+        if (entry.getType() == VanillaEntryTypes.ITEM) {
+            key = entry.<ItemStack>castValue().getItem();
+        } else if (entry.getType() == VanillaEntryTypes.FLUID) {
+            key = entry.<FluidStack>castValue().getFluid();
+        } else {
+            return null;
+        }
+        IntList tagIndices = index.get(key);
+        if (tagIndices == null) return null;
+        List<DefaultTagDisplay<?, ?>> result = new ArrayList<>(tagIndices.size());
+        for (int i = 0; i < tagIndices.size(); i++) {
+            DefaultTagDisplay<?, ?> display = getDisplay(tagIndices.getInt(i));
+            if (display != null && contains(display, entry)) {
+                result.add(display);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Checks the contents of the tag the same way as the lookup of registered displays,
+     * as a member may not be fuzzy equal to every stack of its item.
+     */
+    private static boolean contains(DefaultTagDisplay<?, ?> display, EntryStack<?> entry) {
+        for (EntryIngredient ingredient : display.getOutputEntries()) {
+            for (EntryStack<?> stack : ingredient) {
+                if (EntryStacks.equalsFuzzy(stack, entry)) {
+                    return true;
+                }
+            }
+        }
+        
+        return false;
+    }
+    
+    @Nullable
+    private DefaultTagDisplay<?, ?> getDisplay(int tagIndex) {
+        DefaultTagDisplay<?, ?> display = displays.get(tagIndex);
+        if (display == null) {
+            display = DefaultTagDisplay.of(tags.get(tagIndex));
+            if (!displays.compareAndSet(tagIndex, null, display)) {
+                display = displays.get(tagIndex);
+            }
+        }
+        return display;
+    }
+    
+    private List<DefaultTagDisplay<?, ?>> createAllDisplays() {
+        List<DefaultTagDisplay<?, ?>> all = new ArrayList<>(tags.size());
+        for (int i = 0; i < tags.size(); i++) {
+            DefaultTagDisplay<?, ?> display = getDisplay(i);
+            if (display != null) all.add(display);
+        }
+        return all;
+    }
+}
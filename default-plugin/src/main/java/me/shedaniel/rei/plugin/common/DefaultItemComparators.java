@@ -0,0 +1,57 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022, 2023 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package me.shedaniel.rei.plugin.common;
+
+import me.shedaniel.rei.api.common.entry.comparison.ItemComparatorRegistry;
+import net.minecraft.core.component.DataComponents;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.enchantment.ItemEnchantments;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * The item comparators of the default plugin, kept apart from {@link DefaultPlugin}
+ * so they can be registered without initializing the plugin.
+ */
+@ApiStatus.Internal
+public class DefaultItemComparators {
+    public static void register(ItemComparatorRegistry registry) {
+        Function<ItemStack, ItemEnchantments> enchantmentTag = stack -> {
+            if (stack.has(DataComponents.STORED_ENCHANTMENTS)) {
+                return stack.get(DataComponents.STORED_ENCHANTMENTS);
+            }
+            return stack.get(DataComponents.ENCHANTMENTS);
+        };
+        registry.register((context, stack) -> Objects.hashCode(enchantmentTag.apply(stack)), Items.ENCHANTED_BOOK);
+        registry.registerComponents(Items.POTION);
+        registry.registerComponents(Items.SPLASH_POTION);
+        registry.registerComponents(Items.LINGERING_POTION);
+        registry.registerComponents(Items.TIPPED_ARROW);
+        registry.register((context, stack) -> 0, Items.FIREWORK_ROCKET, Items.FILLED_MAP);
+    }
+}
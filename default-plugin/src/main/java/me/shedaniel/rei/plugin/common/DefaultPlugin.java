@@ -42,17 +42,12 @@ import me.shedaniel.rei.plugin.common.displays.cooking.DefaultSmeltingDisplay;
 import me.shedaniel.rei.plugin.common.displays.cooking.DefaultSmokingDisplay;
 import me.shedaniel.rei.plugin.common.displays.crafting.DefaultCraftingDisplay;
 import me.shedaniel.rei.plugin.common.displays.tag.TagNodes;
-import net.minecraft.core.component.DataComponents;
 import net.minecraft.world.item.BucketItem;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.item.Items;
-import net.minecraft.world.item.enchantment.ItemEnchantments;
 import net.minecraft.world.level.material.Fluid;
 import org.jetbrains.annotations.ApiStatus;
 
-import java.util.Objects;
-import java.util.function.Function;
 import java.util.stream.Stream;
 
 @ApiStatus.Internal
@@ -63,18 +58,7 @@ public class DefaultPlugin implements BuiltinPlugin, REIServerPlugin {
     
     @Override
     public void registerItemComparators(ItemComparatorRegistry registry) {
-        Function<ItemStack, ItemEnchantments> enchantmentTag = stack -> {
-            if (stack.has(DataComponents.STORED_ENCHANTMENTS)) {
-                return stack.get(DataComponents.STORED_ENCHANTMENTS);
-            }
-            return stack.get(DataComponents.ENCHANTMENTS);
-        };
-        registry.register((context, stack) -> Objects.hashCode(enchantmentTag.apply(stack)), Items.ENCHANTED_BOOK);
-        registry.registerComponents(Items.POTION);
-        registry.registerComponents(Items.SPLASH_POTION);
-        registry.registerComponents(Items.LINGERING_POTION);
-        registry.registerComponents(Items.TIPPED_ARROW);
-        registry.register((context, stack) -> 0, Items.FIREWORK_ROCKET, Items.FILLED_MAP);
+        DefaultItemComparators.register(registry);
     }
     
     @Override
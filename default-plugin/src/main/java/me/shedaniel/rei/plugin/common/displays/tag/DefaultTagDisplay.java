@@ -23,6 +23,7 @@
 
 package me.shedaniel.rei.plugin.common.displays.tag;
 
+import com.google.common.base.Suppliers;
 import dev.architectury.fluid.FluidStack;
 import me.shedaniel.rei.api.common.category.CategoryIdentifier;
 import me.shedaniel.rei.api.common.display.Display;
@@ -33,27 +34,49 @@ import me.shedaniel.rei.api.common.util.EntryIngredients;
 import me.shedaniel.rei.api.common.util.EntryStacks;
 import me.shedaniel.rei.plugin.common.BuiltinPlugin;
 import net.minecraft.core.Holder;
+import net.minecraft.core.registries.Registries;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.tags.TagKey;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.ItemLike;
 import net.minecraft.world.level.material.Fluid;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 @ApiStatus.Experimental
 public class DefaultTagDisplay<S, T> implements Display {
     private final TagKey<S> key;
     private final Function<Holder<S>, EntryStack<T>> mapper;
-    private final List<EntryIngredient> ingredients;
+    private final Supplier<List<EntryIngredient>> ingredients;
     
     public DefaultTagDisplay(TagKey<S> key, Function<Holder<S>, EntryStack<T>> mapper) {
         this.key = key;
         this.mapper = mapper;
-        this.ingredients = CollectionUtils.map(EntryIngredients.ofTag(key, mapper), EntryIngredient::of);
+        // The contents are only resolved when the display is viewed, large tags are costly to resolve
+        this.ingredients = Suppliers.memoize(() -> CollectionUtils.map(EntryIngredients.ofTag(key, mapper), EntryIngredient::of));
+    }
+    
+    /**
+     * Creates the display of a tag of items, blocks or fluids.
+     *
+     * @param key the tag key
+     * @return the display, or {@code null} if the tag is not of items, blocks or fluids
+     */
+    @Nullable
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static DefaultTagDisplay<?, ?> of(TagKey<?> key) {
+        if (key.isFor(Registries.ITEM) || key.isFor(Registries.BLOCK)) {
+            return ofItems((TagKey) key);
+        } else if (key.isFor(Registries.FLUID)) {
+            return ofFluids((TagKey) key);
+        }
+        
+        return null;
     }
     
     public static DefaultTagDisplay<ItemLike, ItemStack> ofItems(TagKey<ItemLike> key) {
@@ -74,12 +97,12 @@ public class DefaultTagDisplay<S, T> implements Display {
     
     @Override
     public List<EntryIngredient> getInputEntries() {
-        return this.ingredients;
+        return this.ingredients.get();
     }
     
     @Override
     public List<EntryIngredient> getOutputEntries() {
-        return this.ingredients;
+        return this.ingredients.get();
     }
     
     @Override
@@ -0,0 +1,212 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022, 2023 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import me.shedaniel.rei.api.common.entry.comparison.ComparisonContext;
+import me.shedaniel.rei.impl.Internals;
+import me.shedaniel.rei.impl.common.entry.comparison.ItemComparatorRegistryImpl;
+import me.shedaniel.rei.impl.common.entry.comparison.NbtHasherProviderImpl;
+import me.shedaniel.rei.plugin.client.categories.anvil.AnvilEnchantingDisplayGenerator;
+import me.shedaniel.rei.plugin.common.DefaultItemComparators;
+import me.shedaniel.rei.plugin.common.displays.anvil.DefaultAnvilDisplay;
+import net.minecraft.SharedConstants;
+import net.minecraft.core.Holder;
+import net.minecraft.core.HolderSet;
+import net.minecraft.core.component.DataComponents;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.entity.EquipmentSlotGroup;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.enchantment.Enchantment;
+import net.minecraft.world.item.enchantment.EnchantmentInstance;
+import net.minecraft.world.item.enchantment.ItemEnchantments;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AnvilEnchantingDisplayGeneratorTest {
+    static List<ItemStack> stacks;
+    static List<Pair<EnchantmentInstance, ItemStack>> books;
+    static ItemComparatorRegistryImpl comparators;
+    static Object previousHasher;
+    
+    @BeforeAll
+    static void setup() throws ReflectiveOperationException {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+        
+        // The comparators hash components through the internals, restored in teardown
+        previousHasher = hasherField().get(null);
+        Internals.attachInstance(NbtHasherProviderImpl.INSTANCE, Internals.NbtHasherProvider.class);
+        comparators = new ItemComparatorRegistryImpl();
+        DefaultItemComparators.register(comparators);
+        
+        ItemStack damagedSword = new ItemStack(Items.DIAMOND_SWORD);
+        damagedSword.setDamageValue(100);
+        stacks = List.of(new ItemStack(Items.DIAMOND_SWORD), new ItemStack(Items.IRON_SWORD), damagedSword,
+                new ItemStack(Items.DIAMOND_PICKAXE), new ItemStack(Items.BOW));
+        books = AnvilEnchantingDisplayGenerator.createBooks(Stream.of(
+                enchantment("sharpness", 3, Items.DIAMOND_SWORD, Items.IRON_SWORD),
+                enchantment("efficiency", 2, Items.DIAMOND_PICKAXE),
+                enchantment("unbreaking", 3, Items.DIAMOND_SWORD, Items.IRON_SWORD, Items.DIAMOND_PICKAXE, Items.BOW),
+                enchantment("power", 1, Items.BOW)));
+    }
+    
+    @AfterAll
+    static void teardown() throws ReflectiveOperationException {
+        hasherField().set(null, previousHasher);
+    }
+    
+    static Field hasherField() throws NoSuchFieldException {
+        Field field = Internals.class.getDeclaredField("nbtHasherProvider");
+        field.setAccessible(true);
+        return field;
+    }
+    
+    /**
+     * Creates an enchantment applicable to the items, the item tags are not bound without a server.
+     */
+    static Holder<Enchantment> enchantment(String name, int maxLevel, Item... items) {
+        return Holder.direct(Enchantment.enchantment(Enchantment.definition(HolderSet.direct(Item::builtInRegistryHolder, items),
+                        1, maxLevel, Enchantment.dynamicCost(1, 10), Enchantment.dynamicCost(21, 10), 1, EquipmentSlotGroup.MAINHAND))
+                .build(ResourceLocation.withDefaultNamespace(name)));
+    }
+    
+    /**
+     * Mimics the anvil, refusing the highest level books on iron swords.
+     * {@link DefaultAnvilDisplay#calculateOutput(ItemStack, ItemStack)} needs a client player.
+     */
+    static Optional<Pair<ItemStack, Integer>> calculateOutput(ItemStack left, ItemStack right) {
+        ItemEnchantments enchantments = right.getOrDefault(DataComponents.STORED_ENCHANTMENTS, ItemEnchantments.EMPTY);
+        int level = enchantments.entrySet().iterator().next().getIntValue();
+        if (level == 3 && left.is(Items.IRON_SWORD)) return Optional.empty();
+        ItemStack output = left.copy();
+        output.set(DataComponents.ENCHANTMENTS, enchantments);
+        return Optional.of(Pair.of(output, level + 1));
+    }
+    
+    /**
+     * Fuzzy matching of item entries, with the comparators of the default plugin.
+     */
+    static boolean matchesFuzzy(ItemStack first, ItemStack second) {
+        return first.getItem() == second.getItem()
+               && comparators.hashOf(ComparisonContext.FUZZY, first) == comparators.hashOf(ComparisonContext.FUZZY, second);
+    }
+    
+    /**
+     * The displays registered eagerly, before displays were generated on demand.
+     */
+    static List<Key> eagerDisplays() {
+        List<Key> displays = new ArrayList<>();
+        for (ItemStack stack : stacks) {
+            for (Pair<EnchantmentInstance, ItemStack> book : books) {
+                if (!book.getKey().enchantment.value().canEnchant(stack)) continue;
+                Optional<Pair<ItemStack, Integer>> output = calculateOutput(stack, book.getValue());
+                if (output.isEmpty()) continue;
+                displays.add(new Key(stack, book.getValue(), output.get().getLeft(), output.get().getRight()));
+            }
+        }
+        return displays;
+    }
+    
+    static List<Key> filter(List<Key> displays, Predicate<Key> predicate) {
+        return displays.stream().filter(predicate).toList();
+    }
+    
+    static List<Key> keys(List<DefaultAnvilDisplay> displays) {
+        return displays.stream().map(display -> ((TestDisplay) display).key).toList();
+    }
+    
+    @Test
+    void testAllDisplays() {
+        List<Key> eager = eagerDisplays();
+        assertEquals(25, eager.size());
+        assertEquals(eager, keys(new TestGenerator().getAllDisplays()));
+    }
+    
+    @Test
+    void testRecipes() {
+        List<Key> eager = eagerDisplays();
+        TestGenerator generator = new TestGenerator();
+        List<ItemStack> queries = new ArrayList<>(stacks);
+        eager.forEach(key -> queries.add(key.output()));
+        queries.add(new ItemStack(Items.STICK));
+        for (ItemStack query : queries) {
+            assertEquals(filter(eager, key -> matchesFuzzy(key.output(), query)), keys(generator.getRecipesFor(query)), query::toString);
+        }
+    }
+    
+    @Test
+    void testUsages() {
+        List<Key> eager = eagerDisplays();
+        TestGenerator generator = new TestGenerator();
+        List<ItemStack> queries = new ArrayList<>(stacks);
+        books.forEach(book -> queries.add(book.getValue()));
+        queries.add(new ItemStack(Items.STICK));
+        queries.add(new ItemStack(Items.ENCHANTED_BOOK));
+        for (ItemStack query : queries) {
+            assertEquals(filter(eager, key -> matchesFuzzy(key.base(), query) || matchesFuzzy(key.book(), query)), keys(generator.getUsagesFor(query)), query::toString);
+        }
+    }
+    
+    record Key(ItemStack base, ItemStack book, ItemStack output, int cost) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key && base == key.base && book == key.book && ItemStack.matches(output, key.output) && cost == key.cost;
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(base), System.identityHashCode(book), cost);
+        }
+    }
+    
+    static class TestDisplay extends DefaultAnvilDisplay {
+        final Key key;
+        
+        TestDisplay(Key key) {
+            super(List.of(), List.of(), Optional.empty(), OptionalInt.of(key.cost()));
+            this.key = key;
+        }
+    }
+    
+    static class TestGenerator extends AnvilEnchantingDisplayGenerator {
+        TestGenerator() {
+            super(stacks, books, AnvilEnchantingDisplayGeneratorTest::calculateOutput, AnvilEnchantingDisplayGeneratorTest::matchesFuzzy);
+        }
+        
+        @Override
+        protected DefaultAnvilDisplay createDisplay(ItemStack base, ItemStack book, Pair<ItemStack, Integer> output) {
+            return new TestDisplay(new Key(base, book, output.getLeft(), output.getRight()));
+        }
+    }
+}
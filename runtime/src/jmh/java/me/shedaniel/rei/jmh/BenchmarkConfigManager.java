@@ -0,0 +1,63 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022, 2023 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.jmh;
+
+import me.shedaniel.rei.api.client.config.ConfigManager;
+import me.shedaniel.rei.api.client.config.ConfigObject;
+import me.shedaniel.rei.impl.client.config.ConfigObjectImpl;
+import net.minecraft.client.gui.screens.Screen;
+
+/**
+ * Config manager using the default config, without reading or writing the config file.
+ */
+public class BenchmarkConfigManager implements ConfigManager {
+    private final ConfigObjectImpl config = new ConfigObjectImpl();
+    
+    @Override
+    public void startReload() {
+    }
+    
+    @Override
+    public void saveConfig() {
+    }
+    
+    @Override
+    public boolean isCraftableOnlyEnabled() {
+        return false;
+    }
+    
+    @Override
+    public void toggleCraftableOnly() {
+    }
+    
+    @Override
+    public Screen getConfigScreen(Screen parent) {
+        throw new UnsupportedOperationException();
+    }
+    
+    @Override
+    public ConfigObject getConfig() {
+        return config;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022, 2023 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.jmh;
+
+import me.shedaniel.math.Point;
+import me.shedaniel.rei.api.client.ClientHelper;
+import me.shedaniel.rei.api.client.gui.widgets.Tooltip;
+import me.shedaniel.rei.api.client.gui.widgets.TooltipContext;
+import me.shedaniel.rei.api.client.plugins.REIClientPlugin;
+import me.shedaniel.rei.api.common.entry.type.EntryType;
+import me.shedaniel.rei.impl.ClientInternals;
+import me.shedaniel.rei.impl.Internals;
+import me.shedaniel.rei.impl.client.gui.widget.QueuedTooltip;
+import me.shedaniel.rei.impl.client.gui.widget.TooltipContextImpl;
+import me.shedaniel.rei.impl.client.search.SearchProviderImpl;
+import me.shedaniel.rei.impl.client.search.method.InputMethodRegistryImpl;
+import me.shedaniel.rei.impl.common.category.CategoryIdentifierImpl;
+import me.shedaniel.rei.impl.common.entry.DeferringEntryTypeProviderImpl;
+import me.shedaniel.rei.impl.common.entry.EntryIngredientImpl;
+import me.shedaniel.rei.impl.common.entry.EntryStackProviderImpl;
+import me.shedaniel.rei.impl.common.entry.comparison.NbtHasherProviderImpl;
+import me.shedaniel.rei.impl.common.logging.Log4JLogger;
+import me.shedaniel.rei.impl.common.plugins.PluginManagerImpl;
+import net.minecraft.SharedConstants;
+import net.minecraft.data.models.blockstates.PropertyDispatch;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.TooltipFlag;
+import org.apache.logging.log4j.LogManager;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Sets up the parts of REI needed by the benchmarks, without a Minecraft client or renderer.
+ * <p>
+ * Only the vanilla registries are bootstrapped, the client services depending on a running
+ * platform (the config file, mod metadata) are replaced by {@link BenchmarkConfigManager}
+ * and a {@link ClientHelper} that only resolves mod names.
+ */
+public final class BenchmarkEnvironment {
+    private static boolean setup = false;
+    
+    private BenchmarkEnvironment() {}
+    
+    public static synchronized void setup() {
+        if (setup) return;
+        setup = true;
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+        
+        Internals.attachInstance(new Log4JLogger(LogManager.getFormatterLogger("REI-Benchmark")), "logger");
+        CategoryIdentifierImpl.attach();
+        Internals.attachInstance((Function<ResourceLocation, EntryType<?>>) DeferringEntryTypeProviderImpl.INSTANCE, "entryTypeDeferred");
+        Internals.attachInstance(EntryStackProviderImpl.INSTANCE, Internals.EntryStackProvider.class);
+        Internals.attachInstance(NbtHasherProviderImpl.INSTANCE, Internals.NbtHasherProvider.class);
+        Internals.attachInstance(EntryIngredientImpl.INSTANCE, Internals.EntryIngredientProvider.class);
+        
+        ClientInternals.attachInstance((BiFunction<@Nullable Point, Collection<Tooltip.Entry>, Tooltip>) QueuedTooltip::impl, "tooltipProvider");
+        ClientInternals.attachInstance((PropertyDispatch.QuadFunction<Point, @Nullable TooltipFlag, Boolean, Item.TooltipContext, TooltipContext>) TooltipContextImpl::new, "tooltipContextProvider");
+        ClientInternals.attachInstance((Function<Object, Tooltip.Entry>) QueuedTooltip.TooltipEntryImpl::new, "tooltipEntryProvider");
+        ClientInternals.attachInstance(createClientHelper(), ClientHelper.class);
+        ClientInternals.attachInstanceSupplier(new PluginManagerImpl<>(
+                REIClientPlugin.class,
+                UnaryOperator.identity(),
+                new BenchmarkConfigManager(),
+                new InputMethodRegistryImpl(),
+                new SearchProviderImpl()), "clientPluginManager");
+    }
+    
+    private static ClientHelper createClientHelper() {
+        return (ClientHelper) Proxy.newProxyInstance(BenchmarkEnvironment.class.getClassLoader(), new Class[]{ClientHelper.class}, (proxy, method, args) -> {
+            return switch (method.getName()) {
+                case "getModFromModId" -> args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                case "toString" -> "BenchmarkClientHelper";
+                default -> throw new UnsupportedOperationException(method.getName() + " is not available in benchmarks");
+            };
+        });
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022, 2023 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.jmh;
+
+import me.shedaniel.rei.api.common.display.Display;
+import me.shedaniel.rei.api.common.entry.EntryStack;
+import me.shedaniel.rei.impl.client.registry.display.DisplayCacheImpl;
+import me.shedaniel.rei.impl.client.view.ViewsImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looks up the recipes and usages of entries of the synthetic registry, through the display cache
+ * and by scanning the displays as uncached displays are, and builds the display cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DisplayLookupBenchmark {
+    private static final int QUERIES = 64;
+    @Param({"10000"})
+    public int entries;
+    @Param({"10000", "100000"})
+    public int displays;
+    @Param({"16"})
+    public int categories;
+    private SyntheticRegistry registry;
+    private DisplayCacheImpl cache;
+    private List<List<EntryStack<?>>> queries;
+    
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkEnvironment.setup();
+        this.registry = new SyntheticRegistry(entries, displays, categories);
+        this.cache = buildCache();
+        Random random = new Random(QUERIES);
+        this.queries = new ArrayList<>(QUERIES);
+        for (int i = 0; i < QUERIES; i++) {
+            this.queries.add(List.of(registry.randomStack(random)));
+        }
+    }
+    
+    @Benchmark
+    public DisplayCacheImpl buildCache() {
+        DisplayCacheImpl cache = new DisplayCacheImpl(true);
+        for (Display display : registry.displays) {
+            cache.add(display);
+        }
+        cache.endReload();
+        return cache;
+    }
+    
+    @Benchmark
+    public void cachedLookup(Blackhole blackhole) {
+        for (List<EntryStack<?>> query : queries) {
+            blackhole.consume(cache.getDisplaysByOutput(query.get(0)));
+            blackhole.consume(cache.getDisplaysByInput(query.get(0)));
+        }
+    }
+    
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void uncachedLookup(Blackhole blackhole) {
+        for (List<EntryStack<?>> query : queries) {
+            for (Display display : registry.displays) {
+                blackhole.consume(ViewsImpl.isRecipesFor(null, query, display));
+                blackhole.consume(ViewsImpl.isUsagesFor(null, query, display));
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022, 2023 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.jmh;
+
+import me.shedaniel.rei.api.client.search.SearchFilter;
+import me.shedaniel.rei.impl.client.search.AsyncSearchManager;
+import me.shedaniel.rei.impl.client.search.SearchProviderImpl;
+import me.shedaniel.rei.impl.client.search.argument.Argument;
+import me.shedaniel.rei.impl.client.search.argument.ArgumentCache;
+import me.shedaniel.rei.impl.client.search.argument.type.ArgumentTypesRegistry;
+import me.shedaniel.rei.impl.client.search.method.DefaultInputMethod;
+import me.shedaniel.rei.impl.common.util.HashedEntryStackWrapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * Searches the synthetic registry with a query per argument type, and a few combined queries.
+ * With {@code warm}, the search data of every entry is cached before measuring,
+ * otherwise every search starts from an empty argument cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+    @Param({"10000", "50000"})
+    public int entries;
+    @Param({"stone", "@mod3", "$c:ingots", "#underground", "*polished_", "r/gear_1[0-9]+/", "#underground @mod3", "-@mod1 ingot|plate"})
+    public String query;
+    @Param({"true", "false"})
+    public boolean warm;
+    private SyntheticRegistry registry;
+    private SearchFilter filter;
+    private AsyncSearchManager manager;
+    
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkEnvironment.setup();
+        this.registry = new SyntheticRegistry(entries, 0, 1);
+        this.filter = new SearchProviderImpl.SearchFilterImpl(query, DefaultInputMethod.INSTANCE);
+        this.manager = new AsyncSearchManager($ -> registry.wrappedStacks, () -> $ -> true, UnaryOperator.identity());
+        this.manager.filter = filter;
+        Argument.cache = new ArgumentCache(registry.wrappedStacks);
+        if (warm) {
+            Argument.cache.prepareFilter(registry.wrappedStacks, ArgumentTypesRegistry.ARGUMENT_TYPE_LIST);
+        }
+    }
+    
+    @Setup(Level.Invocation)
+    public void resetCache() {
+        if (!warm) {
+            Argument.cache = new ArgumentCache(registry.wrappedStacks);
+        }
+    }
+    
+    @Benchmark
+    public List<HashedEntryStackWrapper> search() {
+        return AsyncSearchManager.get(filter, $ -> true, UnaryOperator.identity(), registry.wrappedStacks, null,
+                manager, Runnable::run, new AsyncSearchManager.Steps()).join().getKey();
+    }
+}
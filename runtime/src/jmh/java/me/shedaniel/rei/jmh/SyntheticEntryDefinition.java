@@ -0,0 +1,138 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022, 2023 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.jmh;
+
+import me.shedaniel.math.Rectangle;
+import me.shedaniel.rei.api.client.entry.renderer.EntryRenderer;
+import me.shedaniel.rei.api.client.gui.widgets.Tooltip;
+import me.shedaniel.rei.api.client.gui.widgets.TooltipContext;
+import me.shedaniel.rei.api.common.entry.EntrySerializer;
+import me.shedaniel.rei.api.common.entry.EntryStack;
+import me.shedaniel.rei.api.common.entry.comparison.ComparisonContext;
+import me.shedaniel.rei.api.common.entry.type.EntryDefinition;
+import me.shedaniel.rei.api.common.entry.type.EntryType;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.item.Item;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Entry type of the synthetic registries, its entries have a name, a tooltip and tags,
+ * without depending on the Minecraft client.
+ */
+public class SyntheticEntryDefinition implements EntryDefinition<SyntheticEntryDefinition.Entry>, EntryRenderer<SyntheticEntryDefinition.Entry> {
+    public static final EntryType<Entry> TYPE = EntryType.deferred(ResourceLocation.fromNamespaceAndPath("rei_benchmark", "synthetic"));
+    public static final SyntheticEntryDefinition INSTANCE = new SyntheticEntryDefinition();
+    
+    /**
+     * A synthetic entry, entries with the same id and a different variant are only equal fuzzily.
+     */
+    public record Entry(ResourceLocation id, int variant, String name, String tooltip, List<TagKey<Item>> tags) {
+    }
+    
+    public static EntryStack<Entry> stack(Entry entry) {
+        return EntryStack.of(INSTANCE, entry);
+    }
+    
+    @Override
+    public Class<Entry> getValueType() {
+        return Entry.class;
+    }
+    
+    @Override
+    public EntryType<Entry> getType() {
+        return TYPE;
+    }
+    
+    @Override
+    public EntryRenderer<Entry> getRenderer() {
+        return this;
+    }
+    
+    @Override
+    public ResourceLocation getIdentifier(EntryStack<Entry> entry, Entry value) {
+        return value.id();
+    }
+    
+    @Override
+    public boolean isEmpty(EntryStack<Entry> entry, Entry value) {
+        return false;
+    }
+    
+    @Override
+    public Entry copy(EntryStack<Entry> entry, Entry value) {
+        return value;
+    }
+    
+    @Override
+    public Entry normalize(EntryStack<Entry> entry, Entry value) {
+        return value;
+    }
+    
+    @Override
+    public Entry wildcard(EntryStack<Entry> entry, Entry value) {
+        return value;
+    }
+    
+    @Override
+    public long hash(EntryStack<Entry> entry, Entry value, ComparisonContext context) {
+        long hash = value.id().hashCode();
+        return context.isExact() ? 31 * hash + value.variant() : hash;
+    }
+    
+    @Override
+    public boolean equals(Entry o1, Entry o2, ComparisonContext context) {
+        return o1.id().equals(o2.id()) && (context.isFuzzy() || o1.variant() == o2.variant());
+    }
+    
+    @Override
+    @Nullable
+    public EntrySerializer<Entry> getSerializer() {
+        return null;
+    }
+    
+    @Override
+    public Component asFormattedText(EntryStack<Entry> entry, Entry value) {
+        return Component.literal(value.name());
+    }
+    
+    @Override
+    public Stream<? extends TagKey<?>> getTagsFor(EntryStack<Entry> entry, Entry value) {
+        return value.tags().stream();
+    }
+    
+    @Override
+    public void render(EntryStack<Entry> entry, GuiGraphics graphics, Rectangle bounds, int mouseX, int mouseY, float delta) {
+    }
+    
+    @Override
+    public Tooltip getTooltip(EntryStack<Entry> entry, TooltipContext context) {
+        return Tooltip.create(Component.literal(entry.getValue().name()), Component.literal(entry.getValue().tooltip()));
+    }
+}
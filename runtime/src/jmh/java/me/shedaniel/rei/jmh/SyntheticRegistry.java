@@ -0,0 +1,136 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022, 2023 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.jmh;
+
+import me.shedaniel.rei.api.common.category.CategoryIdentifier;
+import me.shedaniel.rei.api.common.display.Display;
+import me.shedaniel.rei.api.common.entry.EntryIngredient;
+import me.shedaniel.rei.api.common.entry.EntryStack;
+import me.shedaniel.rei.impl.common.entry.type.collapsed.CollapsibleEntryRegistryImpl;
+import me.shedaniel.rei.impl.common.util.HashedEntryStackWrapper;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.item.Item;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic registry of entries, displays, categories and collapsible groups.
+ * <p>
+ * Entries are spread over {@value #MODS} mods, every item has {@value #VARIANTS} variants which are only
+ * equal fuzzily, and names, tooltips and tags are drawn from a small vocabulary, so that search
+ * terms match a realistic share of the registry.
+ */
+public class SyntheticRegistry {
+    public static final int MODS = 32;
+    public static final int VARIANTS = 4;
+    private static final String[] ADJECTIVES = {"polished", "cracked", "mossy", "smooth", "chiseled", "waxed", "oxidized", "glowing", "ancient", "raw"};
+    private static final String[] NOUNS = {"stone", "ingot", "plank", "gear", "plate", "dust", "wire", "block", "crystal", "rod", "nugget", "slab"};
+    private static final String[] LORE = {"used for crafting", "found underground", "a rare material", "conducts energy", "can be smelted", "grows in the dark"};
+    public final List<EntryStack<?>> stacks;
+    public final List<HashedEntryStackWrapper> wrappedStacks;
+    public final List<CategoryIdentifier<?>> categories;
+    public final List<Display> displays;
+    public final List<CollapsibleEntryRegistryImpl.Entry> collapsibleGroups;
+    
+    public SyntheticRegistry(int entryCount, int displayCount, int categoryCount) {
+        Random random = new Random(entryCount * 31L + displayCount);
+        List<TagKey<Item>> tags = new ArrayList<>();
+        for (String noun : NOUNS) {
+            tags.add(TagKey.create(Registries.ITEM, ResourceLocation.fromNamespaceAndPath("c", noun + "s")));
+        }
+        
+        this.stacks = new ArrayList<>(entryCount);
+        this.wrappedStacks = new ArrayList<>(entryCount);
+        for (int i = 0; i < entryCount; i++) {
+            int item = i / VARIANTS;
+            int noun = item % NOUNS.length;
+            String adjective = ADJECTIVES[random.nextInt(ADJECTIVES.length)];
+            ResourceLocation id = ResourceLocation.fromNamespaceAndPath("mod" + (item % MODS), adjective + "_" + NOUNS[noun] + "_" + item);
+            String name = adjective + " " + NOUNS[noun] + " " + item;
+            String tooltip = LORE[random.nextInt(LORE.length)] + "\n" + LORE[random.nextInt(LORE.length)];
+            List<TagKey<Item>> entryTags = random.nextInt(4) == 0 ? List.of(tags.get(noun), tags.get(random.nextInt(tags.size()))) : List.of(tags.get(noun));
+            EntryStack<?> stack = SyntheticEntryDefinition.stack(new SyntheticEntryDefinition.Entry(id, i % VARIANTS, name, tooltip, entryTags));
+            this.stacks.add(stack);
+            this.wrappedStacks.add(new HashedEntryStackWrapper(stack));
+        }
+        
+        this.categories = new ArrayList<>(categoryCount);
+        for (int i = 0; i < categoryCount; i++) {
+            this.categories.add(CategoryIdentifier.of("rei_benchmark", "category_" + i));
+        }
+        
+        this.displays = new ArrayList<>(displayCount);
+        for (int i = 0; i < displayCount && !stacks.isEmpty(); i++) {
+            int inputCount = 1 + random.nextInt(9);
+            List<EntryIngredient> inputs = new ArrayList<>(inputCount);
+            for (int j = 0; j < inputCount; j++) {
+                inputs.add(EntryIngredient.of(randomStack(random)));
+            }
+            List<EntryIngredient> outputs = List.of(EntryIngredient.of(randomStack(random)));
+            this.displays.add(new SyntheticDisplay(inputs, outputs, categories.get(i % categoryCount)));
+        }
+        
+        this.collapsibleGroups = new ArrayList<>(tags.size());
+        for (TagKey<Item> tag : tags) {
+            this.collapsibleGroups.add(new CollapsibleEntryRegistryImpl.Entry(tag.location(), Component.literal(tag.location().toString()),
+                    (stack, hashExact) -> stack.getTagsFor().anyMatch(tag::equals), true));
+        }
+    }
+    
+    public EntryStack<?> randomStack(Random random) {
+        return stacks.get(random.nextInt(stacks.size()));
+    }
+    
+    public static class SyntheticDisplay implements Display {
+        private final List<EntryIngredient> inputs;
+        private final List<EntryIngredient> outputs;
+        private final CategoryIdentifier<?> category;
+        
+        public SyntheticDisplay(List<EntryIngredient> inputs, List<EntryIngredient> outputs, CategoryIdentifier<?> category) {
+            this.inputs = inputs;
+            this.outputs = outputs;
+            this.category = category;
+        }
+        
+        @Override
+        public List<EntryIngredient> getInputEntries() {
+            return inputs;
+        }
+        
+        @Override
+        public List<EntryIngredient> getOutputEntries() {
+            return outputs;
+        }
+        
+        @Override
+        public CategoryIdentifier<?> getCategoryIdentifier() {
+            return category;
+        }
+    }
+}
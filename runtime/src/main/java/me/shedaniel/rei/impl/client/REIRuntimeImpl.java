@@ -44,9 +44,12 @@ import me.shedaniel.rei.api.client.overlay.ScreenOverlay;
 import me.shedaniel.rei.api.client.registry.screen.ScreenRegistry;
 import me.shedaniel.rei.api.common.registry.ReloadStage;
 import me.shedaniel.rei.impl.client.gui.ScreenOverlayImpl;
+import me.shedaniel.rei.impl.client.gui.craftable.QuickCraftIndex;
 import me.shedaniel.rei.impl.client.gui.hints.HintProvider;
+import me.shedaniel.rei.impl.client.gui.widget.AutoCraftingEvaluator;
 import me.shedaniel.rei.impl.client.gui.widget.CachedEntryListRender;
 import me.shedaniel.rei.impl.client.gui.widget.search.OverlaySearchField;
+import me.shedaniel.rei.impl.client.search.argument.TooltipQuarantine;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.client.Minecraft;
@@ -256,6 +259,9 @@ public class REIRuntimeImpl implements REIRuntime {
     public void startReload() {
         getOverlay().ifPresent(ScreenOverlay::queueReloadOverlay);
         lastDisplayScreen.clear();
+        AutoCraftingEvaluator.invalidate();
+        QuickCraftIndex.INSTANCE.invalidate();
+        TooltipQuarantine.clear();
         if (!RenderSystem.isOnRenderThread()) {
             RenderSystem.recordRenderCall(CachedEntryListRender::refresh);
         } else {
@@ -283,6 +289,7 @@ public class REIRuntimeImpl implements REIRuntime {
             if (isOverlayVisible() && REIRuntime.getInstance().getOverlay().isPresent()) {
                 ScreenOverlayImpl.getInstance().tick();
             }
+            QuickCraftIndex.INSTANCE.tick();
         });
     }
 }
@@ -313,6 +313,21 @@ public class ConfigObjectImpl implements ConfigObject, ConfigData {
         return advanced.miscellaneous.cachingDisplayLookup;
     }
     
+    @Override
+    public boolean doesInternDisplayIngredients() {
+        return advanced.miscellaneous.interningDisplayIngredients;
+    }
+    
+    @Override
+    public int getDynamicDisplayCacheSize() {
+        return Math.max(0, advanced.miscellaneous.dynamicDisplayCacheSize);
+    }
+    
+    @Override
+    public int getDynamicDisplayCacheExpiry() {
+        return Math.max(0, advanced.miscellaneous.dynamicDisplayCacheExpiry);
+    }
+    
     @Override
     public boolean doDebugRenderTimeRequired() {
         return advanced.layout.debugRenderTimeRequired;
@@ -739,6 +754,12 @@ public class ConfigObjectImpl implements ConfigObject, ConfigData {
             public boolean newFastEntryRendering = true;
             public boolean cachingFastEntryRendering = false;
             public boolean cachingDisplayLookup = true;
+            @Comment("Declares whether equal ingredients should be shared between displays.")
+            public boolean interningDisplayIngredients = false;
+            @Comment("Declares the maximum amount of results cached for cacheable dynamic display generators, 0 to disable.")
+            public int dynamicDisplayCacheSize = 512;
+            @Comment("Declares the amount of seconds before cached dynamic display results expire, 0 to keep them until reload.")
+            public int dynamicDisplayCacheExpiry = 300;
             public CategorySettings categorySettings = new CategorySettings();
             
             public static class CategorySettings {
@@ -29,6 +29,7 @@ import me.shedaniel.autoconfig.annotation.Config;
 import me.shedaniel.autoconfig.serializer.JanksonConfigSerializer;
 import me.shedaniel.cloth.clothconfig.shadowed.blue.endless.jankson.Jankson;
 import me.shedaniel.rei.api.client.favorites.FavoriteEntry;
+import me.shedaniel.rei.impl.client.gui.widget.favorites.FavoritesEntriesManager;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.nbt.CompoundTag;
@@ -77,6 +78,7 @@ public class FavoritesConfigManager {
         basics.favorites.clear();
         basics.hiddenFavorites.clear();
         basics.displayHistory.clear();
+        FavoritesEntriesManager.INSTANCE.invalidate();
         manager.saveConfig();
         this.saveConfig();
     }
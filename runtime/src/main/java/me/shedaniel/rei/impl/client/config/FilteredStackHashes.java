@@ -0,0 +1,143 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022, 2023 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package me.shedaniel.rei.impl.client.config;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import me.shedaniel.rei.api.client.config.entry.EntryStackProvider;
+import me.shedaniel.rei.api.common.display.basic.BasicDisplay;
+import me.shedaniel.rei.api.common.entry.EntryStack;
+import me.shedaniel.rei.api.common.util.EntryStacks;
+import net.minecraft.core.RegistryAccess;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Exact hashes of the manually hidden entries, remembered per provider for the current session.
+ * <p>
+ * Exact hashes mix in identity hashes of items and registry holders, so they are never persisted, and are
+ * forgotten whenever the registry access changes, e.g. when joining another world. Within the same registries,
+ * reloads reuse the hashes of the providers that are still hidden, and only resolve the new ones.
+ */
+@ApiStatus.Internal
+public final class FilteredStackHashes {
+    private static final long INVALID = 0;
+    // Providers are compared by identity, as resolving them is what we avoid
+    private static final Cache<EntryStackProvider<?>, Long> HASHES = CacheBuilder.newBuilder().weakKeys().build();
+    @Nullable
+    private static RegistryAccess registryAccess;
+    
+    private FilteredStackHashes() {
+    }
+    
+    /**
+     * Collects the exact hashes of every valid provider, resolving the stacks unknown to this session.
+     *
+     * @param executor the executor to resolve the unknown stacks on, or {@code null} to resolve them on this thread
+     */
+    public static synchronized LongSet collect(List<EntryStackProvider<?>> providers, @Nullable Executor executor) {
+        validate();
+        LongSet hashes = new LongOpenHashSet();
+        List<EntryStackProvider<?>> unknown = new ArrayList<>();
+        for (EntryStackProvider<?> provider : providers) {
+            if (provider == null) continue;
+            Long hash = HASHES.getIfPresent(provider);
+            if (hash == null) {
+                unknown.add(provider);
+            } else if (hash != INVALID) {
+                hashes.add(hash.longValue());
+            }
+        }
+        
+        if (unknown.isEmpty()) return hashes;
+        long[] resolved = new long[unknown.size()];
+        if (executor == null) {
+            for (int i = 0; i < unknown.size(); i++) {
+                resolved[i] = resolve(unknown.get(i));
+            }
+        } else {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            int partitionSize = 100;
+            for (int start = 0; start < unknown.size(); start += partitionSize) {
+                int from = start, to = Math.min(unknown.size(), start + partitionSize);
+                futures.add(CompletableFuture.runAsync(() -> {
+                    for (int i = from; i < to; i++) {
+                        resolved[i] = resolve(unknown.get(i));
+                    }
+                }, executor));
+            }
+            try {
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.MINUTES);
+            } catch (InterruptedException | ExecutionException | TimeoutException e) {
+                e.printStackTrace();
+                return hashes;
+            }
+        }
+        
+        for (int i = 0; i < unknown.size(); i++) {
+            if (resolved[i] != INVALID) {
+                hashes.add(resolved[i]);
+            }
+            HASHES.put(unknown.get(i), resolved[i]);
+        }
+        return hashes;
+    }
+    
+    /**
+     * Returns whether the provider resolves to an empty stack, without resolving it again when this session knows.
+     */
+    public static synchronized boolean isInvalid(EntryStackProvider<?> provider) {
+        validate();
+        Long hash = HASHES.getIfPresent(provider);
+        if (hash != null) return hash == INVALID;
+        return !provider.isValid();
+    }
+    
+    private static void validate() {
+        RegistryAccess access = BasicDisplay.registryAccess();
+        if (registryAccess != access) {
+            registryAccess = access;
+            HASHES.invalidateAll();
+        }
+    }
+    
+    private static long resolve(EntryStackProvider<?> provider) {
+        EntryStack<?> stack = provider.provide();
+        if (stack.isEmpty()) return INVALID;
+        long hash = EntryStacks.hashExact(stack);
+        // keep INVALID as a marker for empty stacks
+        return hash == INVALID ? 1 : hash;
+    }
+}
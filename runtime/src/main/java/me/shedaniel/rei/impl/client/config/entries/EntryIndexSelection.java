@@ -0,0 +1,122 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022, 2023 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl.client.config.entries;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.function.IntConsumer;
+
+/**
+ * A set of entry indices, stored as sorted and disjoint inclusive ranges.
+ */
+@ApiStatus.Internal
+public class EntryIndexSelection {
+    private final IntArrayList starts = new IntArrayList();
+    private final IntArrayList ends = new IntArrayList();
+    
+    /**
+     * Creates the selection of the cells of a grid, between the given rows and columns inclusively.
+     * A selection spanning every column is stored as a single range.
+     */
+    public static EntryIndexSelection ofGrid(int fromRow, int toRow, int fromColumn, int toColumn, int columns) {
+        EntryIndexSelection selection = new EntryIndexSelection();
+        if (fromRow > toRow || fromColumn > toColumn) return selection;
+        if (fromColumn == 0 && toColumn == columns - 1) {
+            selection.add(fromRow * columns, toRow * columns + toColumn);
+        } else {
+            for (int row = fromRow; row <= toRow; row++) {
+                selection.add(row * columns + fromColumn, row * columns + toColumn);
+            }
+        }
+        return selection;
+    }
+    
+    public boolean isEmpty() {
+        return starts.isEmpty();
+    }
+    
+    public void clear() {
+        starts.clear();
+        ends.clear();
+    }
+    
+    public void addAll(EntryIndexSelection selection) {
+        for (int i = 0; i < selection.starts.size(); i++) {
+            add(selection.starts.getInt(i), selection.ends.getInt(i));
+        }
+    }
+    
+    /**
+     * Adds the indices between {@code start} and {@code end} inclusively, merging overlapping or adjacent ranges.
+     */
+    public void add(int start, int end) {
+        if (start > end) return;
+        int from = lowerBound(start);
+        // the previous range may touch the new range
+        if (from > 0 && ends.getInt(from - 1) >= start - 1) from--;
+        int to = from;
+        while (to < starts.size() && starts.getInt(to) <= end + 1) {
+            start = Math.min(start, starts.getInt(to));
+            end = Math.max(end, ends.getInt(to));
+            to++;
+        }
+        starts.removeElements(from, to);
+        ends.removeElements(from, to);
+        starts.add(from, start);
+        ends.add(from, end);
+    }
+    
+    public boolean contains(int index) {
+        int i = lowerBound(index + 1) - 1;
+        return i >= 0 && ends.getInt(i) >= index;
+    }
+    
+    /**
+     * Iterates the selected indices below {@code size}, in ascending order.
+     */
+    public void forEach(int size, IntConsumer consumer) {
+        for (int i = 0; i < starts.size(); i++) {
+            int start = starts.getInt(i);
+            if (start >= size) break;
+            int end = Math.min(ends.getInt(i), size - 1);
+            for (int index = start; index <= end; index++) {
+                consumer.accept(index);
+            }
+        }
+    }
+    
+    /**
+     * Returns the position of the first range starting at or after the index.
+     */
+    private int lowerBound(int index) {
+        int low = 0, high = starts.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (starts.getInt(mid) < index) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+}
@@ -24,7 +24,6 @@
 package me.shedaniel.rei.impl.client.config.entries;
 
 import com.google.common.collect.Lists;
-import com.google.common.collect.Sets;
 import com.mojang.blaze3d.systems.RenderSystem;
 import com.mojang.blaze3d.vertex.*;
 import me.shedaniel.clothconfig2.ClothConfigInitializer;
@@ -32,13 +31,10 @@ import me.shedaniel.clothconfig2.api.ScissorsHandler;
 import me.shedaniel.clothconfig2.api.scroll.ScrollingContainer;
 import me.shedaniel.math.Point;
 import me.shedaniel.math.Rectangle;
-import me.shedaniel.math.impl.PointHelper;
 import me.shedaniel.rei.api.client.REIRuntime;
 import me.shedaniel.rei.api.client.gui.widgets.Tooltip;
 import me.shedaniel.rei.api.client.gui.widgets.TooltipContext;
 import me.shedaniel.rei.api.client.registry.entry.EntryRegistry;
-import me.shedaniel.rei.api.client.search.SearchFilter;
-import me.shedaniel.rei.api.client.search.SearchProvider;
 import me.shedaniel.rei.api.common.entry.EntrySerializer;
 import me.shedaniel.rei.api.common.entry.EntryStack;
 import me.shedaniel.rei.impl.client.gui.ScreenOverlayImpl;
@@ -46,6 +42,9 @@ import me.shedaniel.rei.impl.client.gui.widget.BatchedEntryRendererManager;
 import me.shedaniel.rei.impl.client.gui.widget.EntryWidget;
 import me.shedaniel.rei.impl.client.gui.widget.UpdatedListWidget;
 import me.shedaniel.rei.impl.client.gui.widget.search.OverlaySearchField;
+import me.shedaniel.rei.impl.client.search.AsyncSearchManager;
+import me.shedaniel.rei.impl.common.entry.type.EntryRegistryImpl;
+import me.shedaniel.rei.impl.common.util.HashedEntryStackWrapper;
 import net.minecraft.ChatFormatting;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
@@ -60,17 +59,13 @@ import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 import org.joml.Matrix4f;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Set;
-import java.util.function.Predicate;
+import java.util.*;
+import java.util.function.Consumer;
 
 import static me.shedaniel.rei.impl.client.gui.widget.entrylist.EntryListWidget.entrySize;
 
 @ApiStatus.Internal
 public class FilteringScreen extends Screen {
-    protected List<EntryStack<?>> selected = Lists.newArrayList();
     protected final ScrollingContainer scrolling = new ScrollingContainer() {
         @Override
         public int getMaxScrollHeight() {
@@ -93,13 +88,25 @@ public class FilteringScreen extends Screen {
     private Tooltip tooltip = null;
     private List<EntryStack<?>> entryStacks = null;
     private Rectangle innerBounds;
+    /**
+     * The widgets of the visible rows, rebound to the visible entries every frame.
+     */
     private List<FilteringListEntry> entries = Collections.emptyList();
     private List<GuiEventListener> elements = Collections.emptyList();
+    private final AsyncSearchManager searchManager = new AsyncSearchManager($ -> {
+        if (EntryRegistry.getInstance().isReloading()) return List.of();
+        return ((EntryRegistryImpl) EntryRegistry.getInstance()).getComplexList();
+    }, () -> stack -> isSerializable(stack.unwrap()), HashedEntryStackWrapper::normalize);
     
-    private record PointPair(Point firstPoint, @Nullable Point secondPoint) {
+    private record DragArea(int fromRow, int toRow, int fromColumn, int toColumn) {
     }
     
-    private List<PointPair> points = new ArrayList<>();
+    private final EntryIndexSelection selection = new EntryIndexSelection();
+    private EntryIndexSelection dragSelection = new EntryIndexSelection();
+    @Nullable
+    private Point dragStart;
+    @Nullable
+    private DragArea dragArea;
     
     private OverlaySearchField searchField;
     private Button selectAllButton;
@@ -107,9 +114,6 @@ public class FilteringScreen extends Screen {
     private Button hideButton;
     private Button showButton;
     private Button backButton;
-    private Predicate<Rectangle> selectionCache;
-    
-    private SearchFilter lastFilter = SearchFilter.matchAll();
     
     public FilteringScreen(Set<EntryStack<?>> configFiltered) {
         super(Component.translatable("config.roughlyenoughitems.filteringScreen"));
@@ -118,8 +122,7 @@ public class FilteringScreen extends Screen {
         {
             Component selectAllText = Component.translatable("config.roughlyenoughitems.filteredEntries.selectAll");
             this.selectAllButton = Button.builder(selectAllText, button -> {
-                        this.points.clear();
-                        this.points.add(new PointPair(new Point(-Integer.MAX_VALUE / 2, -Integer.MAX_VALUE / 2), new Point(Integer.MAX_VALUE / 2, Integer.MAX_VALUE / 2)));
+                        selectAll();
                     })
                     .bounds(0, 0, Minecraft.getInstance().font.width(selectAllText) + 10, 20)
                     .build();
@@ -127,7 +130,7 @@ public class FilteringScreen extends Screen {
         {
             Component selectNoneText = Component.translatable("config.roughlyenoughitems.filteredEntries.selectNone");
             this.selectNoneButton = Button.builder(selectNoneText, button -> {
-                        this.points.clear();
+                        clearSelection();
                     })
                     .bounds(0, 0, Minecraft.getInstance().font.width(selectNoneText) + 10, 20)
                     .build();
@@ -135,15 +138,7 @@ public class FilteringScreen extends Screen {
         {
             Component hideText = Component.translatable("config.roughlyenoughitems.filteredEntries.hide");
             this.hideButton = Button.builder(hideText, button -> {
-                        for (int i = 0; i < entryStacks.size(); i++) {
-                            EntryStack<?> stack = entryStacks.get(i);
-                            FilteringListEntry entry = entries.get(i);
-                            entry.getBounds().y = entry.backupY - scrolling.scrollAmountInt();
-                            if (entry.isSelected() && !entry.isFiltered()) {
-                        configFiltered.add(stack);
-                                entry.dirty = true;
-                            }
-                        }
+                        forEachSelected(configFiltered::add);
                     })
                     .bounds(0, 0, Minecraft.getInstance().font.width(hideText) + 10, 20)
                     .build();
@@ -151,14 +146,7 @@ public class FilteringScreen extends Screen {
         {
             Component showText = Component.translatable("config.roughlyenoughitems.filteredEntries.show");
             this.showButton = Button.builder(showText, button -> {
-                        for (int i = 0; i < entryStacks.size(); i++) {
-                            EntryStack<?> stack = entryStacks.get(i);
-                            FilteringListEntry entry = entries.get(i);
-                            entry.getBounds().y = entry.backupY - scrolling.scrollAmountInt();
-                    if (entry.isSelected() && configFiltered.remove(stack)) {
-                                entry.dirty = true;
-                            }
-                        }
+                        forEachSelected(configFiltered::remove);
                     })
                     .bounds(0, 0, Minecraft.getInstance().font.width(showText) + 10, 20)
                     .build();
@@ -181,6 +169,14 @@ public class FilteringScreen extends Screen {
         this.parent = null;
     }
     
+    @Override
+    public void removed() {
+        super.removed();
+        // cancel the running search, the screen is kept by its parent
+        this.searchManager.updateFilter("");
+        this.searchManager.markDirty();
+    }
+    
     private static Rectangle updateInnerBounds(Rectangle bounds) {
         int width = Math.max(Mth.floor((bounds.width - 2 - 6) / (float) entrySize()), 1);
         return new Rectangle((int) (bounds.getCenterX() - width * entrySize() / 2f), bounds.y + 5, width * entrySize(), bounds.height);
@@ -213,28 +209,32 @@ public class FilteringScreen extends Screen {
     @Override
     public void render(GuiGraphics graphics, int mouseX, int mouseY, float delta) {
         super.render(graphics, mouseX, mouseY, delta);
-        updateSelectionCache();
+        updateDragSelection(mouseX, mouseY);
         Rectangle bounds = getBounds();
         tooltip = null;
         UpdatedListWidget.renderAs(minecraft, width, height, bounds.y, height, graphics, delta);
         if (bounds.isEmpty())
             return;
         ScissorsHandler.INSTANCE.scissor(bounds);
-        for (FilteringListEntry entry : entries)
-            entry.clearStacks();
-        int skip = Math.max(0, Mth.floor(scrolling.scrollAmount() / (float) entrySize()));
-        int nextIndex = skip * innerBounds.width / entrySize();
-        int i = nextIndex;
+        int entrySize = entrySize();
+        int columns = getColumns();
+        int skip = Math.max(0, Mth.floor(scrolling.scrollAmount() / (float) entrySize));
+        int offsetY = skip * entrySize - scrolling.scrollAmountInt();
         BatchedEntryRendererManager<FilteringListEntry> manager = new BatchedEntryRendererManager<>();
-        for (; i < entryStacks.size(); i++) {
-            EntryStack<?> stack = entryStacks.get(i);
-            FilteringListEntry entry = entries.get(nextIndex);
-            entry.getBounds().y = entry.backupY - scrolling.scrollAmountInt();
-            if (entry.getBounds().y > bounds.getMaxY())
-                break;
-            entry.entry(stack);
+        for (int slot = 0; slot < entries.size(); slot++) {
+            FilteringListEntry entry = entries.get(slot);
+            int index = skip * columns + slot;
+            if (index >= entryStacks.size()) {
+                entry.bind(-1, null);
+                continue;
+            }
+            entry.getBounds().y = entry.backupY + offsetY;
+            if (entry.getBounds().y > bounds.getMaxY()) {
+                entry.bind(-1, null);
+                continue;
+            }
+            entry.bind(index, entryStacks.get(index));
             manager.add(entry);
-            nextIndex++;
         }
         manager.render(graphics, mouseX, mouseY, delta);
         updatePosition(delta);
@@ -273,31 +273,62 @@ public class FilteringScreen extends Screen {
         graphics.drawString(this.font, hint, this.width - this.font.width(hint) - 15, 12, -1);
     }
     
-    private Predicate<Rectangle> getSelection() {
-        return selectionCache;
+    private int getColumns() {
+        return Math.max(1, innerBounds.width / entrySize());
     }
     
-    private void updateSelectionCache() {
-        if (!points.isEmpty()) {
-            Predicate<Rectangle> predicate = rect -> false;
-            for (PointPair pair : points) {
-                Point firstPoint = pair.firstPoint();
-                Point secondPoint = pair.secondPoint();
-                if (secondPoint == null) {
-                    secondPoint = PointHelper.ofMouse();
-                    secondPoint.translate(0, scrolling.scrollAmountInt());
-                }
-                int left = Math.min(firstPoint.x, secondPoint.x);
-                int top = Math.min(firstPoint.y, secondPoint.y);
-                int right = Math.max(firstPoint.x, secondPoint.x);
-                int bottom = Math.max(firstPoint.y, secondPoint.y);
-                Rectangle rectangle = new Rectangle(left, top - scrolling.scrollAmountInt(), Math.max(1, right - left), Math.max(1, bottom - top));
-                predicate = predicate.or(rectangle::intersects);
-            }
-            selectionCache = predicate;
-            return;
+    private boolean isSelected(int index) {
+        return selection.contains(index) || dragSelection.contains(index);
+    }
+    
+    private void selectAll() {
+        this.clearSelection();
+        this.selection.add(0, Integer.MAX_VALUE - 1);
+    }
+    
+    private void clearSelection() {
+        this.selection.clear();
+        this.dragSelection = new EntryIndexSelection();
+        this.dragStart = null;
+        this.dragArea = null;
+    }
+    
+    private void forEachSelected(Consumer<EntryStack<?>> action) {
+        if (entryStacks == null) return;
+        selection.forEach(entryStacks.size(), index -> action.accept(entryStacks.get(index)));
+        dragSelection.forEach(entryStacks.size(), index -> {
+            if (!selection.contains(index)) action.accept(entryStacks.get(index));
+        });
+        for (FilteringListEntry entry : entries) {
+            entry.dirty = true;
+        }
+    }
+    
+    /**
+     * Converts the area being dragged into the selected cells, only recomputing the ranges when another cell is covered.
+     */
+    private void updateDragSelection(int mouseX, int mouseY) {
+        if (dragStart == null) return;
+        DragArea area = getDragArea(dragStart, new Point(mouseX, mouseY + scrolling.scrollAmountInt()));
+        if (!area.equals(dragArea)) {
+            this.dragArea = area;
+            this.dragSelection = EntryIndexSelection.ofGrid(area.fromRow(), area.toRow(), area.fromColumn(), area.toColumn(), getColumns());
         }
-        selectionCache = rect -> false;
+    }
+    
+    /**
+     * Returns the cells intersecting the dragged rectangle, in content space.
+     */
+    private DragArea getDragArea(Point firstPoint, Point secondPoint) {
+        int entrySize = entrySize();
+        int columns = getColumns();
+        int rows = Math.max(1, Mth.ceil((entryStacks == null ? 0 : entryStacks.size()) / (float) columns));
+        int left = Math.min(firstPoint.x, secondPoint.x) - (innerBounds.x - 1);
+        int top = Math.min(firstPoint.y, secondPoint.y) - (innerBounds.y - 1);
+        int right = left + Math.max(1, Math.abs(secondPoint.x - firstPoint.x));
+        int bottom = top + Math.max(1, Math.abs(secondPoint.y - firstPoint.y));
+        return new DragArea(Mth.clamp(Math.floorDiv(top, entrySize), 0, rows), Mth.clamp(Math.floorDiv(bottom - 1, entrySize), -1, rows - 1),
+                Mth.clamp(Math.floorDiv(left, entrySize), 0, columns), Mth.clamp(Math.floorDiv(right - 1, entrySize), -1, columns - 1));
     }
     
     @Override
@@ -312,39 +343,45 @@ public class FilteringScreen extends Screen {
     }
     
     public void updateSearch(String searchTerm) {
-        lastFilter = SearchProvider.getInstance().createFilter(searchTerm);
-        Set<EntryStack<?>> list = Sets.newLinkedHashSet();
-        EntryRegistry.getInstance().getEntryStacks().parallel().filter(this::matches).map(EntryStack::normalize).forEachOrdered(list::add);
-        
-        entryStacks = Lists.newArrayList(list);
+        if (entryStacks == null) entryStacks = List.of();
         updateEntriesPosition();
+        searchManager.updateFilter(searchTerm);
+        if (!searchManager.isDirty()) return;
+        searchManager.getAsync((list, filter) -> {
+            if (searchManager.filter != filter) return;
+            Set<HashedEntryStackWrapper> distinct = new LinkedHashSet<>(list);
+            List<EntryStack<?>> stacks = new ArrayList<>(distinct.size());
+            for (HashedEntryStackWrapper stack : distinct) {
+                stacks.add(stack.unwrap());
+            }
+            Minecraft.getInstance().submit(() -> {
+                if (searchManager.filter != filter) return;
+                this.entryStacks = stacks;
+            });
+        });
     }
     
-    public boolean matches(EntryStack<?> stack) {
+    private static boolean isSerializable(EntryStack<?> stack) {
         EntrySerializer<?> serializer = stack.getDefinition().getSerializer();
-        if (serializer == null || !serializer.supportReading() || !serializer.supportSaving()) {
-            return false;
-        }
-        return lastFilter.test(stack);
+        return serializer != null && serializer.supportReading() && serializer.supportSaving();
     }
     
+    public boolean matches(EntryStack<?> stack) {
+        return isSerializable(stack) && searchManager.filter != null && searchManager.matches(stack);
+    }
+    
+    /**
+     * Lays out the widgets of the visible rows, plus a partially visible row.
+     */
     public void updateEntriesPosition() {
         int entrySize = entrySize();
         this.innerBounds = updateInnerBounds(getBounds());
-        int width = innerBounds.width / entrySize;
-        int pageHeight = innerBounds.height / entrySize;
-        int slotsToPrepare = Math.max(entryStacks.size() * 3, width * pageHeight * 3);
-        int currentX = 0;
-        int currentY = 0;
-        List<FilteringListEntry> entries = Lists.newArrayList();
-        for (int i = 0; i < slotsToPrepare; i++) {
-            int xPos = currentX * entrySize + innerBounds.x;
-            int yPos = currentY * entrySize + innerBounds.y;
-            entries.add(new FilteringListEntry(xPos, yPos, entrySize));
-            currentX++;
-            if (currentX >= width) {
-                currentX = 0;
-                currentY++;
+        int width = getColumns();
+        int visibleRows = Mth.ceil(getBounds().height / (float) entrySize) + 1;
+        List<FilteringListEntry> entries = Lists.newArrayListWithCapacity(width * visibleRows);
+        for (int row = 0; row < visibleRows; row++) {
+            for (int column = 0; column < width; column++) {
+                entries.add(new FilteringListEntry(column * entrySize + innerBounds.x, row * entrySize + innerBounds.y, entrySize));
             }
         }
         this.entries = entries;
@@ -364,7 +401,7 @@ public class FilteringScreen extends Screen {
         
         if (getBounds().contains(mouseX, mouseY)) {
             if (searchField.mouseClicked(mouseX, mouseY, button)) {
-                this.points.clear();
+                clearSelection();
                 return true;
             } else if (selectAllButton.mouseClicked(mouseX, mouseY, button)) {
                 return true;
@@ -376,9 +413,13 @@ public class FilteringScreen extends Screen {
                 return true;
             } else if (button == 0) {
                 if (!Screen.hasShiftDown()) {
-                    this.points.clear();
+                    clearSelection();
+                } else {
+                    this.selection.addAll(dragSelection);
                 }
-                this.points.add(new PointPair(new Point(mouseX, mouseY + scrolling.scrollAmount()), null));
+                this.dragStart = new Point(mouseX, mouseY + scrolling.scrollAmount());
+                this.dragArea = null;
+                this.dragSelection = new EntryIndexSelection();
                 return true;
             }
         }
@@ -387,12 +428,13 @@ public class FilteringScreen extends Screen {
     
     @Override
     public boolean mouseReleased(double mouseX, double mouseY, int button) {
-        if (button == 0 && !points.isEmpty()) {
-            PointPair pair = this.points.get(points.size() - 1);
-            if (pair.secondPoint() == null) {
-                this.points.set(points.size() - 1, new PointPair(pair.firstPoint(), new Point(mouseX, mouseY + scrolling.scrollAmount())));
-                return true;
-            }
+        if (button == 0 && dragStart != null) {
+            updateDragSelection((int) mouseX, (int) mouseY);
+            this.selection.addAll(dragSelection);
+            this.dragSelection = new EntryIndexSelection();
+            this.dragStart = null;
+            this.dragArea = null;
+            return true;
         }
         return super.mouseReleased(mouseX, mouseY, button);
     }
@@ -411,8 +453,7 @@ public class FilteringScreen extends Screen {
             if (element.keyPressed(keyCode, scanCode, modifiers))
                 return true;
         if (Screen.isSelectAll(keyCode)) {
-            this.points.clear();
-            this.points.add(new PointPair(new Point(-Integer.MAX_VALUE / 2, -Integer.MAX_VALUE / 2), new Point(Integer.MAX_VALUE / 2, Integer.MAX_VALUE / 2)));
+            selectAll();
             return true;
         }
         if (keyCode == 256 && this.shouldCloseOnEsc()) {
@@ -443,6 +484,9 @@ public class FilteringScreen extends Screen {
     
     private class FilteringListEntry extends EntryWidget {
         private int backupY;
+        private int index = -1;
+        @Nullable
+        private EntryStack<?> stack;
         private boolean filtered = false;
         private boolean dirty = true;
         
@@ -455,6 +499,15 @@ public class FilteringScreen extends Screen {
             noHighlight();
         }
         
+        private void bind(int index, @Nullable EntryStack<?> stack) {
+            if (this.index == index && this.stack == stack) return;
+            this.index = index;
+            this.stack = stack;
+            this.dirty = true;
+            clearStacks();
+            if (stack != null) entry(stack);
+        }
+        
         @Override
         public boolean containsMouse(double mouseX, double mouseY) {
             return super.containsMouse(mouseX, mouseY) && FilteringScreen.this.getBounds().contains(mouseX, mouseY);
@@ -472,7 +525,7 @@ public class FilteringScreen extends Screen {
         }
         
         public boolean isSelected() {
-            return getSelection().test(getBounds());
+            return index >= 0 && FilteringScreen.this.isSelected(index);
         }
         
         public boolean isFiltered() {
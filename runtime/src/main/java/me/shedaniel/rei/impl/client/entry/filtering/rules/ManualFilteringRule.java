@@ -23,20 +23,16 @@
 
 package me.shedaniel.rei.impl.client.entry.filtering.rules;
 
-import com.google.common.collect.Lists;
-import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import it.unimi.dsi.fastutil.longs.LongSet;
 import me.shedaniel.rei.api.client.config.ConfigObject;
-import me.shedaniel.rei.api.client.config.entry.EntryStackProvider;
 import me.shedaniel.rei.api.client.entry.filtering.*;
 import me.shedaniel.rei.api.common.entry.EntryStack;
-import me.shedaniel.rei.api.common.util.CollectionUtils;
 import me.shedaniel.rei.api.common.util.EntryStacks;
+import me.shedaniel.rei.impl.client.config.FilteredStackHashes;
 import me.shedaniel.rei.impl.client.util.ThreadCreator;
 
 import java.util.Collection;
-import java.util.List;
-import java.util.concurrent.*;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 
 public class ManualFilteringRule implements FilteringRule<LongSet> {
@@ -49,35 +45,7 @@ public class ManualFilteringRule implements FilteringRule<LongSet> {
     
     @Override
     public LongSet prepareCache(boolean async) {
-        if (async) {
-            LongSet all = new LongOpenHashSet();
-            List<CompletableFuture<LongSet>> completableFutures = Lists.newArrayList();
-            for (Iterable<EntryStackProvider<?>> partitionStacks : CollectionUtils.partition(ConfigObject.getInstance().getFilteredStackProviders(), 100)) {
-                completableFutures.add(CompletableFuture.supplyAsync(() -> {
-                    LongSet output = new LongOpenHashSet();
-                    for (EntryStackProvider<?> provider : partitionStacks) {
-                        if (provider != null && provider.isValid()) {
-                            output.add(EntryStacks.hashExact(provider.provide()));
-                        }
-                    }
-                    return output;
-                }, EXECUTOR_SERVICE));
-            }
-            try {
-                CompletableFuture.allOf(completableFutures.toArray(new CompletableFuture[0])).get(5, TimeUnit.MINUTES);
-            } catch (InterruptedException | ExecutionException | TimeoutException e) {
-                e.printStackTrace();
-            }
-            for (CompletableFuture<LongSet> future : completableFutures) {
-                LongSet now = future.getNow(null);
-                if (now != null) {
-                    all.addAll(now);
-                }
-            }
-            return all;
-        } else {
-            return ConfigObject.getInstance().getFilteredStackProviders().stream().filter(EntryStackProvider::isValid).map(provider -> EntryStacks.hashExact(provider.provide())).collect(Collectors.toCollection(LongOpenHashSet::new));
-        }
+        return FilteredStackHashes.collect(ConfigObject.getInstance().getFilteredStackProviders(), async ? EXECUTOR_SERVICE : null);
     }
     
     @Override
@@ -36,6 +36,7 @@ import me.shedaniel.rei.api.client.plugins.REIClientPlugin;
 import me.shedaniel.rei.api.common.registry.ReloadStage;
 import me.shedaniel.rei.api.common.util.CollectionUtils;
 import me.shedaniel.rei.impl.client.config.ConfigManagerImpl;
+import me.shedaniel.rei.impl.client.gui.widget.favorites.FavoritesEntriesManager;
 import me.shedaniel.rei.impl.common.InternalLogger;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
@@ -112,6 +113,7 @@ public class FavoriteEntryTypeRegistryImpl implements FavoriteEntryType.Registry
         this.systemFavorites.clear();
         this.sections.clear();
         this.sectionsList.clear();
+        FavoritesEntriesManager.INSTANCE.invalidate();
     }
     
     @Override
@@ -123,6 +125,7 @@ public class FavoriteEntryTypeRegistryImpl implements FavoriteEntryType.Registry
             ConfigManager.getInstance().saveConfig();
         }
         
+        FavoritesEntriesManager.INSTANCE.invalidate();
         InternalLogger.getInstance().debug("Registered %d favorite entry types", registry.size());
     }
     
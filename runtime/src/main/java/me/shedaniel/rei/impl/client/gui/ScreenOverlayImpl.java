@@ -60,6 +60,7 @@ import me.shedaniel.rei.impl.client.gui.widget.entrylist.ScrolledEntryListWidget
 import me.shedaniel.rei.impl.client.gui.widget.favorites.FavoritesListWidget;
 import me.shedaniel.rei.impl.client.gui.widget.hint.HintsContainerWidget;
 import me.shedaniel.rei.impl.client.gui.widget.search.OverlaySearchField;
+import me.shedaniel.rei.impl.client.search.argument.ArgumentCacheWarmer;
 import me.shedaniel.rei.impl.common.util.RectangleUtils;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
@@ -164,6 +165,7 @@ public abstract class ScreenOverlayImpl extends ScreenOverlay {
         if (ConfigObject.getInstance().isFavoritesEnabled()) {
             if (favoritesListWidget == null) {
                 favoritesListWidget = new FavoritesListWidget();
+                favoritesListWidget.updateSearch();
             }
             favoritesListWidget.favoritePanel.resetRows();
             this.widgets.add(favoritesListWidget);
@@ -176,7 +178,10 @@ public abstract class ScreenOverlayImpl extends ScreenOverlay {
         EntryListWidget entryListWidget = getEntryListWidget();
         entryListWidget.updateArea(this.bounds, searchField.getText());
         this.widgets.add(entryListWidget);
-        searchField.setResponder(s -> entryListWidget.updateSearch(s, false));
+        searchField.setResponder(s -> {
+            ArgumentCacheWarmer.notifyTyping();
+            entryListWidget.updateSearch(s, false);
+        });
         entryListWidget.init(this);
         
         this.widgets.add(configButton = ConfigButtonWidget.create(this));
@@ -222,8 +227,13 @@ public abstract class ScreenOverlayImpl extends ScreenOverlay {
     @Override
     public void render(GuiGraphics graphics, int mouseX, int mouseY, float delta) {
         if (shouldReload || !calculateOverlayBounds().equals(bounds)) {
+            // Bounds changes only move slots around, the query and registry are untouched so the current results are kept
+            boolean reloadSearch = shouldReload || shouldReloadSearch;
             init();
-            getEntryListWidget().updateSearch(REIRuntimeImpl.getSearchField().getText(), true);
+            EntryListWidget entryList = getEntryListWidget();
+            if (reloadSearch || !entryList.hasSearched()) {
+                entryList.updateSearch(REIRuntimeImpl.getSearchField().getText(), true);
+            }
         } else {
             for (OverlayDecider decider : ScreenRegistry.getInstance().getDeciders(minecraft.screen)) {
                 if (decider != null && decider.shouldRecalculateArea(ConfigObject.getInstance().getDisplayPanelLocation(), bounds)) {
@@ -115,7 +115,8 @@ public interface AllREIConfigGroups {
             .add(CACHED_RENDERING);
     OptionGroup PERFORMANCE_RELOAD = make("performance.reload")
             .add(RELOAD_THREAD)
-            .add(CACHED_DISPLAY_LOOKUP);
+            .add(CACHED_DISPLAY_LOOKUP)
+            .add(INTERN_DISPLAY_INGREDIENTS);
     OptionGroup DEBUG_PERFORMANCE = make("debug.performance")
             .add(PLUGINS_PERFORMANCE)
             .add(SEARCH_PERFORMANCE)
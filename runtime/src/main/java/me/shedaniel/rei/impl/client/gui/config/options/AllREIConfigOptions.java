@@ -28,6 +28,7 @@ import me.shedaniel.rei.RoughlyEnoughItemsCoreClient;
 import me.shedaniel.rei.api.client.config.entry.EntryStackProvider;
 import me.shedaniel.rei.api.client.gui.config.*;
 import me.shedaniel.rei.api.client.registry.entry.CollapsibleEntryRegistry;
+import me.shedaniel.rei.api.common.entry.EntryStack;
 import me.shedaniel.rei.api.common.plugins.PluginManager;
 import me.shedaniel.rei.api.common.util.CollectionUtils;
 import me.shedaniel.rei.impl.client.config.ConfigObjectImpl;
@@ -47,6 +48,9 @@ import net.minecraft.client.Minecraft;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 
@@ -182,7 +186,17 @@ public interface AllREIConfigOptions {
                 i.advanced.filtering.filteringRules
         );
     }, (i, entry) -> {
-        i.advanced.filtering.filteredStacks = CollectionUtils.map(entry.configFiltered(), EntryStackProvider::ofStack);
+        // Keep the providers of stacks that are still hidden, they are already serialized and hashed
+        Map<EntryStack<?>, EntryStackProvider<?>> providers = new IdentityHashMap<>();
+        for (EntryStackProvider<?> provider : i.advanced.filtering.filteredStacks) {
+            providers.put(provider.provide(), provider);
+        }
+        List<EntryStackProvider<?>> filteredStacks = new ArrayList<>(entry.configFiltered().size());
+        for (EntryStack<?> stack : entry.configFiltered()) {
+            EntryStackProvider<?> provider = providers.get(stack);
+            filteredStacks.add(provider != null ? provider : EntryStackProvider.ofStack(stack));
+        }
+        i.advanced.filtering.filteredStacks = filteredStacks;
         i.advanced.filtering.filteringRules = new ArrayList<>(entry.rules());
     }).configure((access, option, onClose) -> {
         FilteringEntry entry = access.get(option);
@@ -256,6 +270,8 @@ public interface AllREIConfigOptions {
             .ofBoolean(translatable("config.rei.values.performance.reload_thread.main_thread"), translatable("config.rei.values.performance.reload_thread.rei_thread"));
     CompositeOption<Boolean> CACHED_DISPLAY_LOOKUP = make("performance.cached_display_lookup", i -> i.advanced.miscellaneous.cachingDisplayLookup, (i, v) -> i.advanced.miscellaneous.cachingDisplayLookup = v)
             .enabledDisabled();
+    CompositeOption<Boolean> INTERN_DISPLAY_INGREDIENTS = make("performance.intern_display_ingredients", i -> i.advanced.miscellaneous.interningDisplayIngredients, (i, v) -> i.advanced.miscellaneous.interningDisplayIngredients = v)
+            .enabledDisabled();
     CompositeOption<Object> PLUGINS_PERFORMANCE = make("debug.plugins_performance", i -> null, (i, v) -> new Object())
             .details((access, option, onClose) -> Minecraft.getInstance().setScreen(new PerformanceScreen(onClose)))
             .requiresLevel();
@@ -33,12 +33,14 @@ import net.minecraft.world.inventory.AbstractContainerMenu;
 public class CraftableFilter {
     public static final CraftableFilter INSTANCE = new CraftableFilter();
     private boolean dirty = false;
+    private long version = 0;
     private Long2LongMap invStacks = new Long2LongOpenHashMap();
     private Long2LongMap containerStacks = new Long2LongOpenHashMap();
     private long menuId = -2;
     
     public void markDirty() {
         dirty = true;
+        version++;
     }
     
     public boolean wasDirty() {
@@ -50,15 +52,22 @@ public class CraftableFilter {
         return false;
     }
     
+    /**
+     * Returns a counter bumped every time the menu or the inventory contents change, unlike {@link #wasDirty()}
+     * it is not consumed by reading it, so any number of caches can be validated against it.
+     */
+    public long getVersion() {
+        return version;
+    }
+    
     public void tick() {
-        if (dirty) return;
         AbstractContainerMenu menu = Minecraft.getInstance().player.containerMenu;
         long currentMenuId = menu == null ? -1 : menu.containerId;
+        boolean changed = false;
         if (currentMenuId != menuId) {
             menuId = currentMenuId;
-            markDirty();
+            changed = true;
         }
-        if (dirty) return;
         
         Long2LongMap currentStacks;
         try {
@@ -69,10 +78,9 @@ public class CraftableFilter {
         }
         if (!currentStacks.equals(this.invStacks)) {
             invStacks = currentStacks;
-            markDirty();
+            changed = true;
         }
-        if (dirty) return;
-    
+        
         try {
             currentStacks = ClientHelperImpl.getInstance()._getContainerItemsTypes();
         } catch (Throwable throwable) {
@@ -81,6 +89,10 @@ public class CraftableFilter {
         }
         if (!currentStacks.equals(this.containerStacks)) {
             containerStacks = currentStacks;
+            changed = true;
+        }
+        
+        if (changed) {
             markDirty();
         }
     }
@@ -0,0 +1,187 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022, 2023 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl.client.gui.craftable;
+
+import me.shedaniel.rei.api.client.config.ConfigObject;
+import me.shedaniel.rei.api.client.registry.category.CategoryRegistry;
+import me.shedaniel.rei.api.client.registry.display.DisplayRegistry;
+import me.shedaniel.rei.api.common.category.CategoryIdentifier;
+import me.shedaniel.rei.api.common.display.Display;
+import me.shedaniel.rei.api.common.entry.EntryStack;
+import me.shedaniel.rei.api.common.plugins.PluginManager;
+import me.shedaniel.rei.api.common.util.CollectionUtils;
+import me.shedaniel.rei.api.common.util.EntryStacks;
+import me.shedaniel.rei.impl.client.gui.widget.AutoCraftingEvaluator;
+import me.shedaniel.rei.impl.client.registry.display.DisplayRegistryImpl;
+import me.shedaniel.rei.impl.client.util.ThreadCreator;
+import me.shedaniel.rei.impl.common.InternalLogger;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Index from hovered outputs to the first display that can currently be quick crafted into them.
+ * <p>
+ * The candidate displays of an output are collected and filtered on a background thread the first time
+ * it is asked for. Transfers are only evaluated on the client thread, a few candidates per tick in {@link #tick()},
+ * and every known output is evaluated again once {@link CraftableFilter#getVersion()} changes, so hovering
+ * an entry is a lookup instead of a scan through every display producing it. The previous display is kept
+ * until the evaluation replaces or rejects it, so results may lag behind the inventory for a moment,
+ * callers are expected to confirm the display with {@link #isCandidate(Display)} and {@link AutoCraftingEvaluator}
+ * before using it.
+ */
+public class QuickCraftIndex {
+    public static final QuickCraftIndex INSTANCE = new QuickCraftIndex();
+    private static final ExecutorService EXECUTOR = new ThreadCreator("REI-QuickCraft").asService(1);
+    private static final int MAX_SIZE = 1024;
+    private static final int EVALUATIONS_PER_TICK = 16;
+    private final Map<Long, Candidates> collected = new ConcurrentHashMap<>();
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final Set<Candidates> queue = new LinkedHashSet<>();
+    private volatile long generation = 0;
+    
+    /**
+     * The candidate displays of some outputs, the evaluation state is only touched on the client thread.
+     */
+    private static class Candidates {
+        private final List<Display> displays;
+        private long version = -1;
+        private int cursor;
+        @Nullable
+        private Display display;
+        
+        private Candidates(List<Display> displays) {
+            this.displays = displays;
+        }
+    }
+    
+    /**
+     * Returns the display last resolved for these outputs, scheduling the collection of its candidates
+     * when they are missing, or their evaluation when it is stale, the stale display is returned meanwhile.
+     */
+    @Nullable
+    public Display get(List<EntryStack<?>> outputs) {
+        if (outputs.isEmpty() || PluginManager.areAnyReloading()) return null;
+        long key = hash(outputs);
+        Candidates candidates = this.collected.get(key);
+        if (candidates == null) {
+            schedule(key, List.copyOf(outputs));
+            return null;
+        }
+        
+        long version = CraftableFilter.INSTANCE.getVersion();
+        if (candidates.version != version) {
+            candidates.version = version;
+            candidates.cursor = 0;
+            if (!candidates.displays.isEmpty()) {
+                queue.add(candidates);
+            }
+        }
+        return candidates.display;
+    }
+    
+    /**
+     * Evaluates the queued candidates on the client thread, up to {@value #EVALUATIONS_PER_TICK} displays per tick.
+     */
+    public void tick() {
+        if (queue.isEmpty() || PluginManager.areAnyReloading()) return;
+        int budget = EVALUATIONS_PER_TICK;
+        Iterator<Candidates> iterator = queue.iterator();
+        while (budget > 0 && iterator.hasNext()) {
+            Candidates candidates = iterator.next();
+            boolean successful = false;
+            while (budget > 0 && candidates.cursor < candidates.displays.size()) {
+                Display display = candidates.displays.get(candidates.cursor++);
+                budget--;
+                if (AutoCraftingEvaluator.evaluateAutoCrafting(false, false, display, null).successful) {
+                    candidates.display = display;
+                    candidates.cursor = candidates.displays.size();
+                    successful = true;
+                }
+            }
+            if (candidates.cursor >= candidates.displays.size()) {
+                // the whole scan found nothing, reject the previous display
+                if (!successful) candidates.display = null;
+                iterator.remove();
+            }
+        }
+    }
+    
+    /**
+     * Drops every collected output, for changes to the displays or the handlers themselves.
+     */
+    public void invalidate() {
+        generation++;
+        collected.clear();
+        pending.clear();
+        queue.clear();
+    }
+    
+    public static boolean isCandidate(Display display) {
+        CategoryRegistry categoryRegistry = CategoryRegistry.getInstance();
+        CategoryIdentifier<?> categoryIdentifier = display.getCategoryIdentifier();
+        Optional<? extends CategoryRegistry.CategoryConfiguration<?>> configuration;
+        if ((configuration = categoryRegistry.tryGet(categoryIdentifier)).isEmpty()
+            || categoryRegistry.isCategoryInvisible(configuration.get().getCategory())) return false;
+        if (!ConfigObject.getInstance().getFilteringQuickCraftCategories().getOrDefault(categoryIdentifier, configuration.get().isQuickCraftingEnabledByDefault()))
+            return false;
+        return !ConfigObject.getInstance().shouldFilterDisplays() || DisplayRegistry.getInstance().isDisplayVisible(display);
+    }
+    
+    private void schedule(long key, List<EntryStack<?>> outputs) {
+        if (!pending.add(key)) return;
+        long generation = this.generation;
+        CompletableFuture.runAsync(() -> {
+            try {
+                List<Display> displays = collect(outputs);
+                if (generation == this.generation) {
+                    if (collected.size() >= MAX_SIZE) collected.clear();
+                    collected.put(key, new Candidates(displays));
+                }
+            } finally {
+                pending.remove(key);
+            }
+        }, EXECUTOR).exceptionally(throwable -> {
+            InternalLogger.getInstance().warn("Failed to collect quick craft displays", throwable);
+            return null;
+        });
+    }
+    
+    private static List<Display> collect(List<EntryStack<?>> outputs) {
+        if (PluginManager.areAnyReloading()) return List.of();
+        DisplayRegistryImpl displayRegistry = (DisplayRegistryImpl) DisplayRegistry.getInstance();
+        return CollectionUtils.filterToList(displayRegistry.displaysHolder().cache().getAllDisplaysByOutputs(outputs), QuickCraftIndex::isCandidate);
+    }
+    
+    private static long hash(List<EntryStack<?>> outputs) {
+        long hash = 1;
+        for (EntryStack<?> output : outputs) {
+            hash = hash * 31 + EntryStacks.hashExact(output);
+        }
+        return hash;
+    }
+}
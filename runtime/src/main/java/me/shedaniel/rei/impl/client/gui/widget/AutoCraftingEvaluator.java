@@ -23,6 +23,9 @@
 
 package me.shedaniel.rei.impl.client.gui.widget;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.mojang.blaze3d.systems.RenderSystem;
 import me.shedaniel.math.Point;
 import me.shedaniel.rei.api.client.REIRuntime;
 import me.shedaniel.rei.api.client.config.ConfigObject;
@@ -32,8 +35,10 @@ import me.shedaniel.rei.api.client.registry.transfer.TransferHandler;
 import me.shedaniel.rei.api.client.registry.transfer.TransferHandlerRegistry;
 import me.shedaniel.rei.api.client.registry.transfer.TransferHandlerRenderer;
 import me.shedaniel.rei.api.common.display.Display;
+import me.shedaniel.rei.api.common.plugins.PluginManager;
 import me.shedaniel.rei.api.common.transfer.info.MenuTransferException;
 import me.shedaniel.rei.api.common.util.CollectionUtils;
+import me.shedaniel.rei.impl.client.gui.craftable.CraftableFilter;
 import net.minecraft.ChatFormatting;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.screens.inventory.AbstractContainerScreen;
@@ -41,6 +46,7 @@ import net.minecraft.client.resources.language.I18n;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.MutableComponent;
 import net.minecraft.resources.ResourceLocation;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.function.BiConsumer;
@@ -48,6 +54,21 @@ import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 public class AutoCraftingEvaluator {
+    /**
+     * Feasibility of every display evaluated without crafting, shared by every widget asking for it.
+     * The cache is keyed by display identity and dropped as a whole when the container screen or
+     * {@link CraftableFilter#getVersion()} changes, the chosen handler is kept in the cached result.
+     */
+    private static final Cache<Display, AutoCraftingResult> CACHE = CacheBuilder.newBuilder()
+            .weakKeys()
+            .maximumSize(4096)
+            .build();
+    private static final int VERSION_POLL_TICKS = 5;
+    private static long cachedVersion = -1;
+    @Nullable
+    private static AbstractContainerScreen<?> cachedScreen;
+    private static int lastPollTick = Integer.MIN_VALUE;
+    
     public static class AutoCraftingResult {
         public int tint = 0;
         public boolean successful = false;
@@ -55,13 +76,76 @@ public class AutoCraftingEvaluator {
         public boolean hasApplicable = false;
         public TransferHandlerRenderer renderer;
         public BiConsumer<Point, Consumer<Tooltip>> tooltipRenderer;
+        private final List<Tooltip.Entry> errorTooltip = new ArrayList<>();
+        
+        private AutoCraftingResult bind(Supplier<Collection<ResourceLocation>> idsSupplier) {
+            AutoCraftingResult result = new AutoCraftingResult();
+            result.tint = tint;
+            result.successful = successful;
+            result.successfulHandler = successfulHandler;
+            result.hasApplicable = hasApplicable;
+            result.renderer = renderer;
+            result.tooltipRenderer = tooltipRenderer != null ? tooltipRenderer : createTooltipRenderer(errorTooltip, idsSupplier);
+            return result;
+        }
     }
     
     public static AutoCraftingResult evaluateAutoCrafting(boolean actuallyCrafting, boolean stackedCrafting, Display display, Supplier<Collection<ResourceLocation>> idsSupplier) {
+        if (actuallyCrafting || stackedCrafting) {
+            AutoCraftingResult result = evaluate(actuallyCrafting, stackedCrafting, display).bind(idsSupplier);
+            if (actuallyCrafting) {
+                // The transfer is about to move items around, the next tick will catch up with the new inventory
+                invalidate();
+            }
+            return result;
+        }
+        
+        long version = validate();
+        AutoCraftingResult result = CACHE.getIfPresent(display);
+        if (result == null) {
+            result = evaluate(false, false, display);
+            synchronized (CACHE) {
+                if (version == cachedVersion) {
+                    CACHE.put(display, result);
+                }
+            }
+        }
+        return result.bind(idsSupplier);
+    }
+    
+    /**
+     * Drops every cached feasibility, for changes {@link CraftableFilter} cannot observe, like reloads.
+     */
+    public static void invalidate() {
+        synchronized (CACHE) {
+            CACHE.invalidateAll();
+            cachedVersion = -1;
+        }
+    }
+    
+    private static long validate() {
+        Minecraft minecraft = Minecraft.getInstance();
+        if (minecraft.player != null && RenderSystem.isOnRenderThread() && !PluginManager.areAnyReloading()
+            && Math.abs(minecraft.player.tickCount - lastPollTick) >= VERSION_POLL_TICKS) {
+            // The overlay only ticks the filter while it is visible, recipe screens may be open without it
+            lastPollTick = minecraft.player.tickCount;
+            CraftableFilter.INSTANCE.tick();
+        }
+        
         AbstractContainerScreen<?> containerScreen = REIRuntime.getInstance().getPreviousContainerScreen();
-        AutoCraftingResult result = new AutoCraftingResult();
-        final List<Tooltip.Entry> errorTooltip = new ArrayList<>();
-        result.tooltipRenderer = (pos, sink) -> {
+        long version = CraftableFilter.INSTANCE.getVersion();
+        synchronized (CACHE) {
+            if (version != cachedVersion || containerScreen != cachedScreen) {
+                CACHE.invalidateAll();
+                cachedVersion = version;
+                cachedScreen = containerScreen;
+            }
+            return cachedVersion;
+        }
+    }
+    
+    private static BiConsumer<Point, Consumer<Tooltip>> createTooltipRenderer(List<Tooltip.Entry> errorTooltip, Supplier<Collection<ResourceLocation>> idsSupplier) {
+        return (pos, sink) -> {
             List<Tooltip.Entry> str = new ArrayList<>(errorTooltip);
             
             if (ConfigObject.getInstance().isFavoritesEnabled()) {
@@ -85,6 +169,12 @@ public class AutoCraftingEvaluator {
             
             sink.accept(Tooltip.from(pos, str));
         };
+    }
+    
+    private static AutoCraftingResult evaluate(boolean actuallyCrafting, boolean stackedCrafting, Display display) {
+        AbstractContainerScreen<?> containerScreen = REIRuntime.getInstance().getPreviousContainerScreen();
+        AutoCraftingResult result = new AutoCraftingResult();
+        final List<Tooltip.Entry> errorTooltip = result.errorTooltip;
         
         if (containerScreen == null) {
             errorTooltip.add(Tooltip.entry(Component.translatable("error.rei.not.supported.move.items").withStyle(ChatFormatting.RED)));
@@ -23,7 +23,6 @@
 
 package me.shedaniel.rei.impl.client.gui.widget;
 
-import com.google.common.base.Suppliers;
 import me.shedaniel.math.Point;
 import me.shedaniel.math.Rectangle;
 import me.shedaniel.math.impl.PointHelper;
@@ -42,16 +41,12 @@ import net.minecraft.client.gui.screens.inventory.tooltip.ClientTooltipComponent
 import net.minecraft.world.inventory.tooltip.TooltipComponent;
 
 import java.util.List;
-import java.util.concurrent.TimeUnit;
-import java.util.function.Supplier;
 
 public class DisplayTooltipComponent implements TooltipComponent, ClientTooltipComponent {
     private final List<Widget> widgets;
     private final Widget widget;
     private final DisplaySpec display;
     private final Rectangle bounds;
-    private final Supplier<AutoCraftingEvaluator.AutoCraftingResult> autoCraftingResult =
-            Suppliers.memoizeWithExpiration(this::evaluateAutoCrafting, 1000, TimeUnit.MILLISECONDS);
     
     public DisplayTooltipComponent(DisplaySpec display) {
         Display internalDisplay = display.provideInternalDisplay();
@@ -94,7 +89,7 @@ public class DisplayTooltipComponent implements TooltipComponent, ClientTooltipC
         graphics.pose().translate(-this.bounds.getX(), -this.bounds.getY(), 0);
         widget.render(graphics, -1000, -1000, 0);
         
-        AutoCraftingEvaluator.AutoCraftingResult craftingResult = autoCraftingResult.get();
+        AutoCraftingEvaluator.AutoCraftingResult craftingResult = evaluateAutoCrafting();
         if (craftingResult.hasApplicable && craftingResult.renderer != null) {
             graphics.pose().pushPose();
             Rectangle transformedBounds = MatrixUtils.transform(MatrixUtils.inverse(graphics.pose().last().pose()), new Rectangle(x + 2, y + 2, bounds.width, bounds.height));
@@ -25,6 +25,7 @@ package me.shedaniel.rei.impl.client.gui.widget;
 
 import com.mojang.blaze3d.systems.RenderSystem;
 import me.shedaniel.math.Color;
+import me.shedaniel.rei.api.client.search.SearchFilter;
 import me.shedaniel.rei.api.common.util.EntryStacks;
 import me.shedaniel.rei.impl.client.config.ConfigManagerImpl;
 import me.shedaniel.rei.impl.client.gui.widget.entrylist.EntryListSearchManager;
@@ -32,9 +33,16 @@ import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.gui.screens.inventory.AbstractContainerScreen;
 import net.minecraft.client.renderer.RenderType;
+import net.minecraft.world.inventory.AbstractContainerMenu;
 import net.minecraft.world.inventory.Slot;
+import net.minecraft.world.item.ItemStack;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
 
 public class EntryHighlighter {
+    private static final HighlightState STATE = new HighlightState();
+    
     public static void render(GuiGraphics graphics) {
         float dimOpacity = (float) ConfigManagerImpl.getInstance().getConfig().functionality.inventoryHighlightingDarkenOpacity;
         float opacity = (float) ConfigManagerImpl.getInstance().getConfig().functionality.inventoryHighlightingOpacity;
@@ -45,8 +53,11 @@ public class EntryHighlighter {
         RenderSystem.colorMask(true, true, true, false);
         if (Minecraft.getInstance().screen instanceof AbstractContainerScreen<?> containerScreen) {
             int x = containerScreen.leftPos, y = containerScreen.topPos;
-            for (Slot slot : containerScreen.getMenu().slots) {
-                if (!slot.hasItem() || !EntryListSearchManager.INSTANCE.matches(EntryStacks.of(slot.getItem()))) {
+            List<Slot> slots = containerScreen.getMenu().slots;
+            STATE.update(containerScreen.getMenu(), EntryListSearchManager.INSTANCE.getSearchManager().filter);
+            for (int i = 0; i < slots.size(); i++) {
+                Slot slot = slots.get(i);
+                if (!STATE.matches(i, slot)) {
                     graphics.fillGradient(RenderType.guiOverlay(), x + slot.x, y + slot.y, x + slot.x + 16, y + slot.y + 16, dimColor, dimColor, 0);
                 } else {
                     graphics.pose().pushPose();
@@ -65,4 +76,39 @@ public class EntryHighlighter {
         RenderSystem.colorMask(true, true, true, true);
         RenderSystem.enableDepthTest();
     }
+    
+    /**
+     * Caches the match result of each slot of a menu, so the search filter is only
+     * tested again when the contents of a slot or the filter itself change.
+     */
+    private static class HighlightState {
+        @Nullable
+        private AbstractContainerMenu menu;
+        @Nullable
+        private SearchFilter filter;
+        private ItemStack[] stacks = new ItemStack[0];
+        private int[] counts = new int[0];
+        private boolean[] matches = new boolean[0];
+        
+        public void update(AbstractContainerMenu menu, @Nullable SearchFilter filter) {
+            int size = menu.slots.size();
+            if (this.menu != menu || this.filter != filter || this.stacks.length != size) {
+                this.menu = menu;
+                this.filter = filter;
+                this.stacks = new ItemStack[size];
+                this.counts = new int[size];
+                this.matches = new boolean[size];
+            }
+        }
+        
+        public boolean matches(int index, Slot slot) {
+            ItemStack stack = slot.getItem();
+            if (stacks[index] != stack || counts[index] != stack.getCount()) {
+                stacks[index] = stack;
+                counts[index] = stack.getCount();
+                matches[index] = !stack.isEmpty() && filter != null && filter.test(EntryStacks.of(stack));
+            }
+            return matches[index];
+        }
+    }
 }
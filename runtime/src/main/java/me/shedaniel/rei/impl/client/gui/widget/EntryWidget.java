@@ -45,12 +45,9 @@ import me.shedaniel.rei.api.client.gui.widgets.Tooltip;
 import me.shedaniel.rei.api.client.gui.widgets.TooltipContext;
 import me.shedaniel.rei.api.client.gui.widgets.Widgets;
 import me.shedaniel.rei.api.client.overlay.ScreenOverlay;
-import me.shedaniel.rei.api.client.registry.category.CategoryRegistry;
-import me.shedaniel.rei.api.client.registry.display.DisplayRegistry;
 import me.shedaniel.rei.api.client.registry.transfer.TransferHandler;
 import me.shedaniel.rei.api.client.search.method.InputMethod;
 import me.shedaniel.rei.api.client.view.ViewSearchBuilder;
-import me.shedaniel.rei.api.common.category.CategoryIdentifier;
 import me.shedaniel.rei.api.common.display.Display;
 import me.shedaniel.rei.api.common.entry.EntryStack;
 import me.shedaniel.rei.api.common.plugins.PluginManager;
@@ -59,10 +56,9 @@ import me.shedaniel.rei.api.common.util.FormattingUtils;
 import me.shedaniel.rei.impl.client.REIRuntimeImpl;
 import me.shedaniel.rei.impl.client.gui.InternalTextures;
 import me.shedaniel.rei.impl.client.gui.ScreenOverlayImpl;
+import me.shedaniel.rei.impl.client.gui.craftable.QuickCraftIndex;
 import me.shedaniel.rei.impl.client.gui.dragging.CurrentDraggingStack;
 import me.shedaniel.rei.impl.client.gui.widget.favorites.FavoritesListWidget;
-import me.shedaniel.rei.impl.client.registry.display.DisplayRegistryImpl;
-import me.shedaniel.rei.impl.client.registry.display.DisplaysHolder;
 import me.shedaniel.rei.impl.client.util.CyclingList;
 import me.shedaniel.rei.impl.client.util.OriginalRetainingCyclingList;
 import me.shedaniel.rei.impl.client.view.ViewsImpl;
@@ -109,7 +105,6 @@ public class EntryWidget extends Slot implements DraggableStackProviderWidget {
     public ResourceLocation tagMatch;
     public boolean removeTagMatch = true;
     
-    private long lastCheckTime = -1;
     private long lastCheckedTime = -1;
     private Display display;
     private Supplier<DisplayTooltipComponent> displayTooltipComponent;
@@ -257,6 +252,25 @@ public class EntryWidget extends Slot implements DraggableStackProviderWidget {
         return (EntryWidget) this.clearEntries();
     }
     
+    /**
+     * Resets the entries and the transient state of this widget, so it can be reused for another slot.
+     */
+    protected void resetState() {
+        this.getCyclingEntries().setBacking(null);
+        this.tagMatch = null;
+        this.wasClicked = false;
+        this.lastCycleTime = -1;
+        this.lastCheckedTime = -1;
+        this.display = null;
+        this.displayTooltipComponent = null;
+        this.noticeMark = 0;
+        // Snap the theme transitions, so the new slot does not fade from the state of the previous one
+        this.darkBackgroundAlpha.update(0);
+        this.darkBackgroundAlpha.completeImmediately();
+        this.darkHighlightedAlpha.update(0);
+        this.darkHighlightedAlpha.completeImmediately();
+    }
+    
     @Override
     public EntryWidget entry(EntryStack<?> stack) {
         Objects.requireNonNull(stack);
@@ -324,41 +338,18 @@ public class EntryWidget extends Slot implements DraggableStackProviderWidget {
     
     @Nullable
     private TransferHandler _getTransferHandler() {
-        lastCheckTime = Util.getMillis();
-        
         if (PluginManager.areAnyReloading()) {
             return null;
         }
         
-        try {
-            DisplayRegistry displayRegistry = DisplayRegistry.getInstance();
-            DisplaysHolder displaysHolder = ((DisplayRegistryImpl) displayRegistry).displaysHolder();
-            CategoryRegistry categoryRegistry = CategoryRegistry.getInstance();
-            Map<CategoryIdentifier<?>, Boolean> filteringQuickCraftCategories = ConfigObject.getInstance().getFilteringQuickCraftCategories();
-            boolean shouldFilterDisplays = ConfigObject.getInstance().shouldFilterDisplays();
-            
-            for (Display display : displaysHolder.cache().getAllDisplaysByOutputs(getEntries())) {
-                CategoryIdentifier<?> categoryIdentifier = display.getCategoryIdentifier();
-                Optional<? extends CategoryRegistry.CategoryConfiguration<?>> configuration;
-                if ((configuration = categoryRegistry.tryGet(categoryIdentifier)).isEmpty()
-                        || categoryRegistry.isCategoryInvisible(configuration.get().getCategory())) continue;
-                if (!filteringQuickCraftCategories.getOrDefault(categoryIdentifier, configuration.get().isQuickCraftingEnabledByDefault()))
-                    
-                    continue;
-                if ((!shouldFilterDisplays || displayRegistry.isDisplayVisible(display))
-                            ) {
-                    AutoCraftingEvaluator.AutoCraftingResult result = AutoCraftingEvaluator.evaluateAutoCrafting(false, false, display, null);
-                    if (result.successful) {
-                        this.display = display;
-                        this.displayTooltipComponent = Suppliers.memoize(() -> new DisplayTooltipComponent(display));
-                        return result.successfulHandler;
-                    }
-                }
+        Display display = QuickCraftIndex.INSTANCE.get(getEntries());
+        if (display != null && QuickCraftIndex.isCandidate(display)) {
+            AutoCraftingEvaluator.AutoCraftingResult result = AutoCraftingEvaluator.evaluateAutoCrafting(false, false, display, null);
+            if (result.successful) {
+                this.display = display;
+                this.displayTooltipComponent = Suppliers.memoize(() -> new DisplayTooltipComponent(display));
+                return result.successfulHandler;
             }
-        } catch (ConcurrentModificationException ignored) {
-            display = null;
-            displayTooltipComponent = null;
-            lastCheckTime = -1;
         }
         
         return null;
@@ -379,11 +370,6 @@ public class EntryWidget extends Slot implements DraggableStackProviderWidget {
             
             display = null;
             displayTooltipComponent = null;
-            lastCheckTime = -1;
-        }
-        
-        if (lastCheckTime != -1 && Util.getMillis() - lastCheckTime < 2000) {
-            return null;
         }
         
         return query ? _getTransferHandler() : null;
@@ -23,7 +23,6 @@
 
 package me.shedaniel.rei.impl.client.gui.widget;
 
-import com.google.common.base.Suppliers;
 import me.shedaniel.math.Point;
 import me.shedaniel.math.Rectangle;
 import me.shedaniel.math.impl.PointHelper;
@@ -53,7 +52,6 @@ import org.joml.Matrix4f;
 
 import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 @ApiStatus.Internal
@@ -69,14 +67,9 @@ public final class InternalWidgets {
                     AutoCraftingEvaluator.evaluateAutoCrafting(true, Screen.hasShiftDown(), displaySupplier.get(), idsSupplier);
                 });
         return new DelegateWidget(autoCraftingButton) {
-            final Supplier<AutoCraftingEvaluator.AutoCraftingResult> result = Suppliers.memoizeWithExpiration(
-                    () -> AutoCraftingEvaluator.evaluateAutoCrafting(false, false, displaySupplier.get(), idsSupplier),
-                    1000, TimeUnit.MILLISECONDS
-            );
-            
             @Override
             public void render(GuiGraphics graphics, int mouseX, int mouseY, float delta) {
-                AutoCraftingEvaluator.AutoCraftingResult result = this.result.get();
+                AutoCraftingEvaluator.AutoCraftingResult result = AutoCraftingEvaluator.evaluateAutoCrafting(false, false, displaySupplier.get(), idsSupplier);
                 
                 autoCraftingButton.setEnabled(result.successful);
                 autoCraftingButton.setTint(result.tint);
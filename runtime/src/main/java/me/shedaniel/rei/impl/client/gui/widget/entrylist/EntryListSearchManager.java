@@ -25,7 +25,9 @@ package me.shedaniel.rei.impl.client.gui.widget.entrylist;
 
 import com.google.common.base.Predicates;
 import com.google.common.base.Stopwatch;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Iterators;
+import com.mojang.blaze3d.platform.Window;
 import me.shedaniel.rei.api.client.config.ConfigManager;
 import me.shedaniel.rei.api.client.config.ConfigObject;
 import me.shedaniel.rei.api.client.gui.config.EntryPanelOrdering;
@@ -37,6 +39,7 @@ import me.shedaniel.rei.api.common.entry.EntryStack;
 import me.shedaniel.rei.api.common.util.EntryStacks;
 import me.shedaniel.rei.impl.client.config.collapsible.CollapsibleConfigManager;
 import me.shedaniel.rei.impl.client.search.AsyncSearchManager;
+import me.shedaniel.rei.impl.client.search.argument.Argument;
 import me.shedaniel.rei.impl.client.search.collapsed.CollapsedEntriesCache;
 import me.shedaniel.rei.impl.client.view.ViewsImpl;
 import me.shedaniel.rei.impl.common.InternalLogger;
@@ -74,6 +77,15 @@ public class EntryListSearchManager {
         return ((EntryRegistryImpl) EntryRegistry.getInstance()).getPreFilteredComplexList();
     }
     
+    /**
+     * Returns the most stacks a single page of the entry list can show, an entry panel covering the whole window.
+     */
+    private static int getMaxVisibleStacks() {
+        Window window = Minecraft.getInstance().getWindow();
+        int entrySize = EntryListWidget.entrySize();
+        return Math.max(1, (window.getGuiScaledWidth() / entrySize) * (window.getGuiScaledHeight() / entrySize));
+    }
+    
     public void update(String searchTerm, boolean ignoreLastSearch, Consumer<List</*EntryStack<?> | CollapsedStack*/ Object>> update) {
         Stopwatch stopwatch = Stopwatch.createStarted();
         if (ignoreLastSearch) searchManager.markDirty();
@@ -83,7 +95,10 @@ public class EntryListSearchManager {
                 if (!filter.getFilter().equals(searchTerm)) return;
                 if (searchManager.filter == null || searchManager.filter != filter) return;
                 InternalLogger.getInstance().log(ConfigObject.getInstance().doDebugSearchTimeRequired() ? Level.INFO : Level.TRACE, "Search \"%s\" Used [%s]: %s", filter.getFilter(), Thread.currentThread().toString(), stopwatch.toString());
-                List</*EntryStack<?> | CollapsedStack*/ Object> finalList = collapse(copyAndOrder(list), () -> searchManager.filter != null && searchManager.filter == filter);
+                List<HashedEntryStackWrapper> orderedList = copyAndOrder(list);
+                // warm the remaining arguments for the visible page of results first, the rest follow in registry order
+                Argument.cache.prioritize(orderedList.subList(0, Math.min(orderedList.size(), getMaxVisibleStacks())));
+                List</*EntryStack<?> | CollapsedStack*/ Object> finalList = collapse(orderedList, () -> searchManager.filter != null && searchManager.filter == filter);
                 
                 InternalLogger.getInstance().log(ConfigObject.getInstance().doDebugSearchTimeRequired() ? Level.INFO : Level.TRACE, "Search \"%s\" Used and Applied [%s]: %s", filter.getFilter(), Thread.currentThread().toString(), stopwatch.stop().toString());
                 
@@ -111,22 +126,40 @@ public class EntryListSearchManager {
     
     private List</*EntryStack<?> | CollapsedStack*/ Object> collapse(List<HashedEntryStackWrapper> stacks, BooleanSupplier isValid) {
         CollapsibleEntryRegistryImpl collapsibleRegistry = (CollapsibleEntryRegistryImpl) CollapsibleEntryRegistry.getInstance();
-        Map<CollapsibleEntryRegistryImpl.Entry, @Nullable CollapsedStack> entries = new HashMap<>();
         CollapsibleConfigManager.CollapsibleConfigObject collapsibleConfig = CollapsibleConfigManager.getInstance().getConfig();
+        return collapse(stacks, CollapsedEntriesCache.getInstance().getIndex(),
+                Iterables.concat(collapsibleRegistry.getEntries(), collapsibleRegistry.getCustomEntries()),
+                collapsibleConfig.disabledGroups, isValid);
+    }
+    
+    /**
+     * Collapses the stacks into the enabled collapsible groups, independent of the registries,
+     * so it can also be used headless.
+     */
+    public static List</*EntryStack<?> | CollapsedStack*/ Object> collapse(List<HashedEntryStackWrapper> stacks, CollapsedEntriesCache.Index index,
+            Iterable<CollapsibleEntryRegistryImpl.Entry> entries, Collection<ResourceLocation> disabledGroups, BooleanSupplier isValid) {
+        // Cacheable groups are resolved from the index by id, the rest are matched per stack
+        boolean[] enabledGroups = new boolean[index.getGroupCount()];
+        boolean anyEnabledGroup = false;
+        Set<CollapsibleEntryRegistryImpl.Entry> indexedEntries = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<CollapsibleEntryRegistryImpl.Entry> dynamicEntries = new ArrayList<>();
         
-        for (CollapsibleEntryRegistryImpl.Entry entry : collapsibleRegistry.getEntries()) {
-            if (!collapsibleConfig.disabledGroups.contains(entry.getId())) {
-                entries.put(entry, null);
+        for (int id = 0; id < enabledGroups.length; id++) {
+            CollapsibleEntryRegistryImpl.Entry entry = index.getGroup(id);
+            indexedEntries.add(entry);
+            if (!disabledGroups.contains(entry.getId()) && !index.getPositions(id).isEmpty()) {
+                enabledGroups[id] = true;
+                anyEnabledGroup = true;
             }
         }
         
-        for (CollapsibleEntryRegistryImpl.Entry entry : collapsibleRegistry.getCustomEntries()) {
-            if (!collapsibleConfig.disabledGroups.contains(entry.getId())) {
-                entries.put(entry, null);
+        for (CollapsibleEntryRegistryImpl.Entry entry : entries) {
+            if (!indexedEntries.contains(entry) && !disabledGroups.contains(entry.getId())) {
+                dynamicEntries.add(entry);
             }
         }
         
-        if (entries.isEmpty()) return (List<Object>) (List<?>) new AbstractList<EntryStack<?>>() {
+        if (!anyEnabledGroup && dynamicEntries.isEmpty()) return (List<Object>) (List<?>) new AbstractList<EntryStack<?>>() {
             
             @Override
             public int size() {
@@ -146,6 +179,8 @@ public class EntryListSearchManager {
         if (!isValid.getAsBoolean()) return List.of();
         
         List</*EntryStack<?> | CollapsedStack*/ Object> list = new ArrayList<>(stacks.size() + 10);
+        CollapsedStack[] collapsedGroups = new CollapsedStack[enabledGroups.length];
+        CollapsedStack[] collapsedDynamic = new CollapsedStack[dynamicEntries.size()];
         
         int i = 0;
         
@@ -153,31 +188,18 @@ public class EntryListSearchManager {
             long hashExact = wrapper.hashExact();
             EntryStack<?> stack = wrapper.unwrap();
             boolean matchedAny = false;
-            Set<ResourceLocation> locations = CollapsedEntriesCache.getInstance().getEntries(hashExact);
             
-            for (Map.Entry<CollapsibleEntryRegistryImpl.Entry, @Nullable CollapsedStack> mapEntry : entries.entrySet()) {
-                CollapsibleEntryRegistryImpl.Entry entry = mapEntry.getKey();
-                boolean matches;
-                
-                if (!entry.canCache()) {
-                    matches = entry.getMatcher().matches(stack, hashExact);
-                } else {
-                    matches = locations != null && locations.contains(entry.getId());
+            for (int id : index.getGroupIds(hashExact)) {
+                if (enabledGroups[id]) {
+                    collapsedGroups[id] = addToCollapsed(list, collapsedGroups[id], index.getGroup(id), stack);
+                    matchedAny = true;
                 }
-                
-                if (matches) {
-                    CollapsedStack collapsed = mapEntry.getValue();
-                    
-                    if (collapsed == null) {
-                        List<EntryStack<?>> ingredient = new ArrayList<>();
-                        ingredient.add(stack);
-                        collapsed = new CollapsedStack(ingredient, entry);
-                        mapEntry.setValue(collapsed);
-                        list.add(collapsed);
-                    } else {
-                        collapsed.getIngredient().add(stack);
-                    }
-                    
+            }
+            
+            for (int j = 0; j < collapsedDynamic.length; j++) {
+                CollapsibleEntryRegistryImpl.Entry entry = dynamicEntries.get(j);
+                if (entry.getMatcher().matches(stack, hashExact)) {
+                    collapsedDynamic[j] = addToCollapsed(list, collapsedDynamic[j], entry, stack);
                     matchedAny = true;
                 }
             }
@@ -192,6 +214,18 @@ public class EntryListSearchManager {
         return list;
     }
     
+    private static CollapsedStack addToCollapsed(List<Object> list, @Nullable CollapsedStack collapsed, CollapsibleEntryRegistryImpl.Entry entry, EntryStack<?> stack) {
+        if (collapsed == null) {
+            List<EntryStack<?>> ingredient = new ArrayList<>();
+            ingredient.add(stack);
+            collapsed = new CollapsedStack(ingredient, entry);
+            list.add(collapsed);
+        } else {
+            collapsed.getIngredient().add(stack);
+        }
+        return collapsed;
+    }
+    
     public AsyncSearchManager getSearchManager() {
         return searchManager;
     }
@@ -60,8 +60,28 @@ public class EntryListStackEntry extends DisplayedEntryWidget {
     public EntryListStackEntry(CollapsingEntryListWidget parent, int x, int y, int entrySize, boolean zoomed) {
         super(new Point(x, y), entrySize);
         this.parent = parent;
-        if (zoomed) {
-            noHighlight();
+        setZoomed(zoomed, entrySize);
+    }
+    
+    /**
+     * Rebinds this pooled widget to another slot, resetting every state bound to the previous slot.
+     */
+    public EntryListStackEntry rebind(int x, int y, int entrySize, boolean zoomed) {
+        resetState();
+        getBounds().setBounds(x - 1, y - 1, entrySize, entrySize);
+        this.backupY = y;
+        this.our = null;
+        this.collapsedStack = null;
+        this.collapsedBounds = null;
+        setZoomed(zoomed, entrySize);
+        return this;
+    }
+    
+    private void setZoomed(boolean zoomed, int entrySize) {
+        highlight(!zoomed);
+        if (!zoomed) {
+            size = null;
+        } else {
             size = ValueAnimator.ofDouble(1f)
                     .withConvention(() -> {
                         double mouseX = PointHelper.getMouseFloatingX();
@@ -72,6 +72,7 @@ public abstract class EntryListWidget extends WidgetWithBounds implements Overla
     private static final int SIZE = 18;
     protected final RegionRenderingDebugger debugger = new RegionRenderingDebugger();
     protected Rectangle bounds, innerBounds;
+    private boolean searched = false;
     public final NumberAnimator<Double> scaleIndicator = ValueAnimator.ofDouble(0.0D)
             .withConvention(() -> 0.0D, 8000);
     
@@ -251,6 +252,13 @@ public abstract class EntryListWidget extends WidgetWithBounds implements Overla
         }
     }
     
+    /**
+     * Returns whether this widget has ever requested a search, a relayout may only reuse the results of a widget that has.
+     */
+    public boolean hasSearched() {
+        return searched;
+    }
+    
     public boolean hasSpace() {
         int entrySize = entrySize();
         int width = innerBounds.width / entrySize;
@@ -277,6 +285,7 @@ public abstract class EntryListWidget extends WidgetWithBounds implements Overla
     protected abstract void setCollapsedStacks(List</*EntryStack<?> | CollapsedStack*/ Object> stacks);
     
     public void updateSearch(String searchTerm, boolean ignoreLastSearch) {
+        this.searched = true;
         EntryListSearchManager.INSTANCE.update(searchTerm, ignoreLastSearch, stacks -> {
             setCollapsedStacks(stacks);
             updateEntriesPosition();
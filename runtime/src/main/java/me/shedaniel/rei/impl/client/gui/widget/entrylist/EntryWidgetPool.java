@@ -0,0 +1,81 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022, 2023 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl.client.gui.widget.entrylist;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Pool of slot widgets that are reused between updates of an entry list,
+ * pooled widgets are rebound to their new slot instead of being allocated again.
+ * <p>
+ * Calling {@link #reset()} returns every widget to the pool, widgets obtained before
+ * must not be used afterwards, as they may be rebound to a different slot.
+ *
+ * @param <T> the type of widgets
+ */
+@ApiStatus.Internal
+public class EntryWidgetPool<T> {
+    private static final int MIN_RETAINED = 256;
+    private final List<T> widgets = new ArrayList<>();
+    private int used = 0;
+    
+    public void reset() {
+        // Drop the excess after a large update, so the pool doesn't hold on to them forever
+        int retained = Math.max(used * 2, MIN_RETAINED);
+        if (widgets.size() > retained) {
+            widgets.subList(retained, widgets.size()).clear();
+        }
+        used = 0;
+    }
+    
+    /**
+     * Returns the next widget of the pool, rebinding a pooled widget if there is one,
+     * or creating a new widget otherwise.
+     *
+     * @param factory the factory of new widgets
+     * @param rebind  the action resetting a pooled widget to its new slot
+     * @return the widget
+     */
+    public T obtain(Supplier<T> factory, Consumer<T> rebind) {
+        T widget;
+        if (used < widgets.size()) {
+            widget = widgets.get(used);
+            rebind.accept(widget);
+        } else {
+            widget = factory.get();
+            widgets.add(widget);
+        }
+        used++;
+        return widget;
+    }
+    
+    public int size() {
+        return widgets.size();
+    }
+}
@@ -60,6 +60,7 @@ public class PaginatedEntryListWidget extends CollapsingEntryListWidget {
     private List</*EntryStack<?> | EntryIngredient*/ Object> stacks = new ArrayList<>();
     private Object2IntMap<CollapsedStack> collapsedStackIndices = new Object2IntOpenHashMap<>();
     protected List<EntryListStackEntry> entries = Collections.emptyList();
+    private final EntryWidgetPool<EntryListStackEntry> entryPool = new EntryWidgetPool<>();
     private int page;
     
     public int getPage() {
@@ -128,12 +129,14 @@ public class PaginatedEntryListWidget extends CollapsingEntryListWidget {
         List<EntryListStackEntry> entries = Lists.newArrayList();
         int width = innerBounds.width / entrySize;
         int height = innerBounds.height / entrySize;
+        entryPool.reset();
         for (int currentY = 0; currentY < height; currentY++) {
             for (int currentX = 0; currentX < width; currentX++) {
                 int slotX = currentX * entrySize + innerBounds.x;
                 int slotY = currentY * entrySize + innerBounds.y;
                 if (notSteppingOnExclusionZones(slotX - 1, slotY - 1, entrySize, entrySize)) {
-                    entries.add((EntryListStackEntry) new EntryListStackEntry(this, slotX, slotY, entrySize, zoomed).noBackground());
+                    entries.add(entryPool.obtain(() -> (EntryListStackEntry) new EntryListStackEntry(this, slotX, slotY, entrySize, zoomed).noBackground(),
+                            entry -> entry.rebind(slotX, slotY, entrySize, zoomed)));
                 }
             }
         }
@@ -24,7 +24,6 @@
 package me.shedaniel.rei.impl.client.gui.widget.entrylist;
 
 import com.google.common.base.Predicates;
-import com.google.common.collect.Lists;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
@@ -49,7 +48,16 @@ import java.util.stream.Stream;
 public class ScrolledEntryListWidget extends CollapsingEntryListWidget {
     private List</*EntryStack<?> | EntryIngredient*/ Object> stacks = new ArrayList<>();
     protected List<EntryListStackEntry> entries = Collections.emptyList();
+    private final EntryWidgetPool<EntryListStackEntry> entryPool = new EntryWidgetPool<>();
     protected int blockedCount;
+    private int boundScrollAmount = Integer.MIN_VALUE;
+    private List<Object> boundStacks;
+    private List<EntryListStackEntry> boundEntries;
+    private Int2ObjectMap<CollapsedStack> boundCollapsedStackIndexed;
+    private int boundFrom, boundTo;
+    private List<EntryListStackEntry> boundStackEntries = new ArrayList<>();
+    private List<EntryListStackEntry> boundIngredientEntries = new ArrayList<>();
+    private Object2IntMap<CollapsedStack> collapsedStackIndices = new Object2IntOpenHashMap<>();
     protected final ScrollingContainer scrolling = new ScrollingContainer() {
         @Override
         public Rectangle getBounds() {
@@ -67,24 +75,75 @@ public class ScrolledEntryListWidget extends CollapsingEntryListWidget {
         ScissorsHandler.INSTANCE.scissor(bounds);
         
         int entrySize = entrySize();
-        int skip = Math.max(0, Mth.floor(scrolling.scrollAmount() / (float) entrySize));
+        int scrollAmount = scrolling.scrollAmountInt();
+        if (scrollAmount != boundScrollAmount || stacks != boundStacks || entries != boundEntries || getCollapsedStackIndexed() != boundCollapsedStackIndexed) {
+            bindEntries(entrySize, scrollAmount);
+        }
+        
+        BatchedEntryRendererManager<EntryListStackEntry> helper = new BatchedEntryRendererManager<>();
+        for (int cont = boundFrom; cont < boundTo; cont++) {
+            EntryListStackEntry entry = entries.get(cont);
+            Rectangle entryBounds = entry.getBounds();
+            entryBounds.y = entry.backupY - scrollAmount - entryBounds.height / 2 + entrySize / 2;
+        }
+        for (EntryListStackEntry entry : boundStackEntries) {
+            helper.add(entry);
+        }
+        helper.addAllSlow(boundIngredientEntries);
+        
+        helper.render(debugger.debugTime, debugger.size, debugger.time, graphics, mouseX, mouseY, delta);
+        
+        new CollapsedEntriesBorderRenderer().render(graphics, helper, collapsedStackIndices);
+        
+        scrolling.updatePosition(delta);
+        ScissorsHandler.INSTANCE.removeLastScissor();
+        if (scrolling.getMaxScroll() > 0) {
+            scrolling.renderScrollBar(graphics, 0, 1, REIRuntime.getInstance().isDarkThemeEnabled() ? 0.8f : 1f);
+        }
+    }
+    
+    /**
+     * Binds the stacks to the slots visible at this scroll amount, skipping the slots blocked by exclusion zones.
+     * Layout and exclusion zone changes rebuild {@link #entries}, so the binding only has to be redone when
+     * the scroll amount, the stacks or the slots change.
+     */
+    private void bindEntries(int entrySize, int scrollAmount) {
+        this.boundScrollAmount = scrollAmount;
+        this.boundStacks = stacks;
+        this.boundEntries = entries;
+        this.boundCollapsedStackIndexed = getCollapsedStackIndexed();
+        
+        for (EntryListStackEntry entry : boundStackEntries) {
+            entry.clearStacks();
+            entry.collapsed(null);
+        }
+        for (EntryListStackEntry entry : boundIngredientEntries) {
+            entry.clearStacks();
+            entry.collapsed(null);
+        }
+        
+        int skip = Math.max(0, Mth.floor(scrollAmount / (float) entrySize));
         int nextIndex = skip * innerBounds.width / entrySize;
         this.blockedCount = 0;
-        BatchedEntryRendererManager<EntryListStackEntry> helper = new BatchedEntryRendererManager<>();
+        this.boundStackEntries = new ArrayList<>();
+        this.boundIngredientEntries = new ArrayList<>();
         Int2ObjectMap<CollapsedStack> indexedCollapsedStack = getCollapsedStackIndexed();
         int collapsedStacksIndex = 0;
         Object2IntMap<CollapsedStack> collapsedStackIndices = new Object2IntOpenHashMap<>();
         collapsedStackIndices.defaultReturnValue(-1);
         
         int i = nextIndex;
-        for (int cont = nextIndex; cont < entries.size(); cont++) {
+        int cont = nextIndex;
+        for (; cont < entries.size(); cont++) {
             EntryListStackEntry entry = entries.get(cont);
             Rectangle entryBounds = entry.getBounds();
+            // bind against the resting slot, zooming in on hover must not change which slots are blocked
+            int x = entryBounds.getCenterX() - entrySize / 2;
+            int y = entry.backupY - scrollAmount;
             
-            entryBounds.y = entry.backupY - scrolling.scrollAmountInt() - entryBounds.height / 2 + entrySize / 2;
-            if (entryBounds.y > this.bounds.getMaxY()) break;
+            if (y > this.bounds.getMaxY()) break;
             if (stacks.size() <= i) break;
-            if (notSteppingOnExclusionZones(entryBounds.x, entryBounds.y, entryBounds.width, entryBounds.height)) {
+            if (notSteppingOnExclusionZones(x, y, entrySize, entrySize)) {
                 /*EntryStack<?> | List<EntryStack<?>>*/
                 Object stack = stacks.get(i++);
                 entry.clearStacks();
@@ -92,13 +151,13 @@ public class ScrolledEntryListWidget extends CollapsingEntryListWidget {
                 if (stack instanceof EntryStack<?> entryStack) {
                     if (!entryStack.isEmpty()) {
                         entry.entry(entryStack);
-                        helper.add(entry);
+                        boundStackEntries.add(entry);
                     }
                 } else {
                     List<EntryStack<?>> ingredient = (List<EntryStack<?>>) stack;
                     if (!ingredient.isEmpty()) {
                         entry.entries(ingredient);
-                        helper.addSlow(entry);
+                        boundIngredientEntries.add(entry);
                     }
                 }
                 
@@ -116,15 +175,9 @@ public class ScrolledEntryListWidget extends CollapsingEntryListWidget {
             }
         }
         
-        helper.render(debugger.debugTime, debugger.size, debugger.time, graphics, mouseX, mouseY, delta);
-        
-        new CollapsedEntriesBorderRenderer().render(graphics, helper, collapsedStackIndices);
-        
-        scrolling.updatePosition(delta);
-        ScissorsHandler.INSTANCE.removeLastScissor();
-        if (scrolling.getMaxScroll() > 0) {
-            scrolling.renderScrollBar(graphics, 0, 1, REIRuntime.getInstance().isDarkThemeEnabled() ? 0.8f : 1f);
-        }
+        this.boundFrom = nextIndex;
+        this.boundTo = Math.min(cont + 1, entries.size());
+        this.collapsedStackIndices = collapsedStackIndices;
     }
     
     @Override
@@ -134,11 +187,13 @@ public class ScrolledEntryListWidget extends CollapsingEntryListWidget {
         int slotsToPrepare = Math.max(stacks.size() * 3, width * pageHeight * 3);
         int currentX = 0;
         int currentY = 0;
-        List<EntryListStackEntry> entries = Lists.newArrayList();
+        List<EntryListStackEntry> entries = new ArrayList<>(slotsToPrepare);
+        entryPool.reset();
         for (int i = 0; i < slotsToPrepare; i++) {
             int xPos = currentX * entrySize + innerBounds.x;
             int yPos = currentY * entrySize + innerBounds.y;
-            entries.add((EntryListStackEntry) new EntryListStackEntry(this, xPos, yPos, entrySize, zoomed).noBackground());
+            entries.add(entryPool.obtain(() -> (EntryListStackEntry) new EntryListStackEntry(this, xPos, yPos, entrySize, zoomed).noBackground(),
+                    entry -> entry.rebind(xPos, yPos, entrySize, zoomed)));
             currentX++;
             if (currentX >= width) {
                 currentX = 0;
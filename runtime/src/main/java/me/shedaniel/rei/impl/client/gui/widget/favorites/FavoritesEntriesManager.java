@@ -33,9 +33,11 @@ import me.shedaniel.rei.impl.client.config.ConfigManagerImpl;
 import me.shedaniel.rei.impl.client.config.ConfigObjectImpl;
 import me.shedaniel.rei.impl.client.gui.ScreenOverlayImpl;
 import net.minecraft.network.chat.Component;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -44,28 +46,55 @@ import java.util.stream.StreamSupport;
 
 public class FavoritesEntriesManager {
     public static final FavoritesEntriesManager INSTANCE = new FavoritesEntriesManager();
+    @Nullable
+    private List<FavoriteEntry> materialized;
+    @Nullable
+    private List<FavoriteEntry> materializedFavorites;
+    @Nullable
+    private List<FavoriteEntry> materializedHiddenFavorites;
     
     private Stream<FavoriteEntry> getDefaultFavorites() {
         return StreamSupport.stream(FavoriteEntryType.registry().sections().spliterator(), false)
                 .flatMap(section -> section.getDefaultEntries().stream());
     }
     
+    /**
+     * Returns the effective favorites, the list is materialized and only rebuilt when
+     * the favorites config is replaced or {@link #invalidate()} is called.
+     */
     public List<FavoriteEntry> getFavorites() {
+        return Collections.unmodifiableList(getMaterialized());
+    }
+    
+    private List<FavoriteEntry> getMaterialized() {
         ConfigObjectImpl config = ConfigManagerImpl.getInstance().getConfig();
-        List<FavoriteEntry> defaultFavorites = getDefaultFavorites().collect(Collectors.toList());
-        defaultFavorites.removeAll(config.getHiddenFavoriteEntries());
-        
-        List<FavoriteEntry> favorites = new ArrayList<>(config.getConfigFavoriteEntries());
-        defaultFavorites.removeAll(favorites);
-        favorites.addAll(0, defaultFavorites);
-        favorites.removeIf(FavoriteEntry::isInvalid);
-        return favorites;
+        List<FavoriteEntry> configFavorites = config.getConfigFavoriteEntries();
+        List<FavoriteEntry> hiddenFavorites = config.getHiddenFavoriteEntries();
+        if (materialized == null || materializedFavorites != configFavorites || materializedHiddenFavorites != hiddenFavorites) {
+            List<FavoriteEntry> defaultFavorites = getDefaultFavorites().collect(Collectors.toList());
+            defaultFavorites.removeAll(hiddenFavorites);
+            
+            List<FavoriteEntry> favorites = new ArrayList<>(configFavorites);
+            defaultFavorites.removeAll(favorites);
+            favorites.addAll(0, defaultFavorites);
+            favorites.removeIf(FavoriteEntry::isInvalid);
+            this.materialized = favorites;
+            this.materializedFavorites = configFavorites;
+            this.materializedHiddenFavorites = hiddenFavorites;
+        }
+        return materialized;
+    }
+    
+    public void invalidate() {
+        this.materialized = null;
     }
     
     public void remove(FavoriteEntry entry) {
         ConfigObjectImpl config = ConfigManagerImpl.getInstance().getConfig();
         
+        List<FavoriteEntry> materialized = getMaterialized();
         config.getConfigFavoriteEntries().remove(entry);
+        materialized.remove(entry);
         if (getDefaultFavorites().anyMatch(e -> e.equals(entry)) && !config.getHiddenFavoriteEntries().contains(entry)) {
             config.getHiddenFavoriteEntries().add(entry);
             FavoritesListWidget widget = ScreenOverlayImpl.getFavoritesListWidget();
@@ -86,6 +115,7 @@ public class FavoritesEntriesManager {
     public void add(FavoriteEntry entry) {
         ConfigObjectImpl config = ConfigManagerImpl.getInstance().getConfig();
         List<FavoriteEntry> defaultFavorites = getDefaultFavorites().toList();
+        List<FavoriteEntry> materialized = getMaterialized();
         
         config.getConfigFavoriteEntries().remove(entry);
         if (CollectionUtils.anyMatch(defaultFavorites, e -> e.equals(entry)) && !config.getHiddenFavoriteEntries().contains(entry)) {
@@ -102,6 +132,13 @@ public class FavoritesEntriesManager {
         config.getHiddenFavoriteEntries().remove(entry);
         if (!CollectionUtils.anyMatch(defaultFavorites, e -> e.equals(entry))) {
             config.getConfigFavoriteEntries().add(entry);
+            materialized.remove(entry);
+            if (!entry.isInvalid()) {
+                materialized.add(entry);
+            }
+        } else {
+            // Re-enabled default favorites move back in between the other defaults
+            invalidate();
         }
         
         ConfigManager.getInstance().saveConfig();
@@ -120,6 +157,10 @@ public class FavoritesEntriesManager {
         config.getHiddenFavoriteEntries().addAll(hiddenDefaultFavorites);
         config.getConfigFavoriteEntries().clear();
         config.getConfigFavoriteEntries().addAll(entries);
+        List<FavoriteEntry> materialized = getMaterialized();
+        materialized.clear();
+        materialized.addAll(entries);
+        materialized.removeIf(FavoriteEntry::isInvalid);
         
         ConfigManager.getInstance().saveConfig();
         FavoritesListWidget widget = ScreenOverlayImpl.getFavoritesListWidget();
@@ -132,12 +173,12 @@ public class FavoritesEntriesManager {
         return new AbstractList<>() {
             @Override
             public FavoriteEntry get(int index) {
-                return getFavorites().get(index);
+                return getMaterialized().get(index);
             }
             
             @Override
             public int size() {
-                return getFavorites().size();
+                return getMaterialized().size();
             }
             
             @Override
@@ -23,7 +23,6 @@
 
 package me.shedaniel.rei.impl.client.gui.widget.favorites.history;
 
-import com.google.common.base.Suppliers;
 import me.shedaniel.clothconfig2.api.LazyResettable;
 import me.shedaniel.clothconfig2.api.animator.ValueAnimator;
 import me.shedaniel.math.Dimension;
@@ -47,16 +46,12 @@ import org.jetbrains.annotations.Nullable;
 import org.joml.Vector4f;
 
 import java.util.*;
-import java.util.concurrent.TimeUnit;
-import java.util.function.Supplier;
 
 public class DisplayEntry extends WidgetWithBounds {
     private final LazyResettable<List<Widget>> widgets = new LazyResettable<>(this::setupWidgets);
     private final DisplayHistoryWidget parent;
     private final Display display;
     private final Dimension size = new Dimension(1, 1);
-    private final Supplier<AutoCraftingEvaluator.AutoCraftingResult> autoCraftingResult =
-            Suppliers.memoizeWithExpiration(this::evaluateAutoCrafting, 1000, TimeUnit.MILLISECONDS);
     private boolean hasInitialBounds;
     private final ValueAnimator<FloatingRectangle> bounds = ValueAnimator.ofFloatingRectangle();
     private final Button plusButton;
@@ -193,7 +188,7 @@ public class DisplayEntry extends WidgetWithBounds {
             Vector4f mouse = new Vector4f((float) mouseX, (float) mouseY, 0, 1);
             graphics.pose().last().pose().transform(mouse);
             
-            AutoCraftingEvaluator.AutoCraftingResult result = this.autoCraftingResult.get();
+            AutoCraftingEvaluator.AutoCraftingResult result = evaluateAutoCrafting();
             
             plusButton.setEnabled(result.successful);
             plusButton.setTint(result.tint);
@@ -32,10 +32,10 @@ import me.shedaniel.rei.api.common.display.Display;
 import me.shedaniel.rei.api.common.display.DisplaySerializerRegistry;
 import me.shedaniel.rei.api.common.plugins.PluginManager;
 import me.shedaniel.rei.impl.client.config.ConfigManagerImpl;
+import me.shedaniel.rei.impl.client.config.FavoritesConfigManager;
 import me.shedaniel.rei.impl.client.registry.display.DisplayKey;
 import me.shedaniel.rei.impl.client.registry.display.DisplaysHolder;
 import me.shedaniel.rei.impl.common.InternalLogger;
-import net.minecraft.Util;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.resources.ResourceLocation;
 import org.jetbrains.annotations.Nullable;
@@ -46,7 +46,9 @@ public class DisplayHistoryManager {
     public static final DisplayHistoryManager INSTANCE = new DisplayHistoryManager();
     private Map<String, DisplayEntry> entries = new LinkedHashMap<>();
     private final Map<Display, DisplayEntry> displayToEntries = new Reference2ObjectLinkedOpenHashMap<>();
-    private long lastCheckTime = -1;
+    @Nullable
+    private List<CompoundTag> loadedHistory;
+    private boolean dirty = true;
     
     @Nullable
     public Object getPossibleOrigin(DisplaysHolder holder, Display display) {
@@ -72,17 +74,32 @@ public class DisplayHistoryManager {
         return displayToEntries;
     }
     
+    /**
+     * Marks the stored history to be read again, entries that are already loaded are kept,
+     * while entries that could not be read before are attempted again.
+     */
+    public void markDirty() {
+        this.dirty = true;
+    }
+    
     public Collection<DisplayEntry> getEntries(DisplayHistoryWidget parent) {
-        if ((lastCheckTime == -1 || Util.getMillis() - lastCheckTime > 4000) && !PluginManager.areAnyReloading()) {
+        if ((dirty || loadedHistory != ConfigManagerImpl.getInstance().getConfig().getDisplayHistory()) && !PluginManager.areAnyReloading()) {
             updateEntries(parent);
-            lastCheckTime = Util.getMillis();
+            dirty = false;
         }
         
         return Collections.unmodifiableCollection(entries.values());
     }
     
+    /**
+     * Reads the stored history, only deserializing the entries that are not loaded yet.
+     * <p>
+     * Entries are not deferred further, the history widget lays out every entry on its first render,
+     * and the history is capped at 10 entries.
+     */
     private void updateEntries(DisplayHistoryWidget parent) {
         List<CompoundTag> displayHistory = ConfigManagerImpl.getInstance().getConfig().getDisplayHistory();
+        this.loadedHistory = displayHistory;
         Map<String, DisplayEntry> copy = new LinkedHashMap<>(entries);
         entries.clear();
         displayToEntries.clear();
@@ -115,7 +132,7 @@ public class DisplayHistoryManager {
         this.displayToEntries.remove(entry.getDisplay());
         List<CompoundTag> displayHistory = ConfigManagerImpl.getInstance().getConfig().getDisplayHistory();
         displayHistory.removeIf(tag -> tag.getString("DisplayHistoryUUID").equals(entry.getUuid().toString()));
-        save();
+        save(null);
     }
     
     public void addEntry(DisplayHistoryWidget parent, @Nullable Rectangle bounds, Display display) {
@@ -151,18 +168,21 @@ public class DisplayHistoryManager {
         compoundTag.putString("DisplayHistoryCategory", display.getCategoryIdentifier().toString());
         displayHistory.add(0, compoundTag);
         
-        save();
+        save(newEntry);
     }
     
-    private void save() {
-        List<CompoundTag> displayHistory = ConfigManagerImpl.getInstance().getConfig().getDisplayHistory();
-        for (CompoundTag compoundTag : displayHistory) {
-            String uuid = compoundTag.getString("DisplayHistoryUUID");
-            DisplayEntry entry = entries.get(uuid);
-            
-            if (entry != null) {
+    /**
+     * Saves the history, only serializing the given changed entry, since
+     * the tags of the other entries are kept up to date as they change.
+     */
+    private void save(@Nullable DisplayEntry changed) {
+        if (changed != null) {
+            List<CompoundTag> displayHistory = ConfigManagerImpl.getInstance().getConfig().getDisplayHistory();
+            String changedUuid = changed.getUuid().toString();
+            for (CompoundTag compoundTag : displayHistory) {
+                if (!compoundTag.getString("DisplayHistoryUUID").equals(changedUuid)) continue;
                 compoundTag.putBoolean("DisplayHistoryContains", false);
-                Display display = entry.getDisplay();
+                Display display = changed.getDisplay();
                 boolean hasSerializer = DisplaySerializerRegistry.getInstance().hasSerializer(display.getCategoryIdentifier());
                 
                 if (hasSerializer) {
@@ -173,9 +193,11 @@ public class DisplayHistoryManager {
                         InternalLogger.getInstance().warn("Failed to save display history entry", e);
                     }
                 }
+                break;
             }
         }
         
-        ConfigManagerImpl.getInstance().saveConfig();
+        // The history lives in the favorites config, there is no need to save the main config as well
+        FavoritesConfigManager.getInstance().saveConfig();
     }
 }
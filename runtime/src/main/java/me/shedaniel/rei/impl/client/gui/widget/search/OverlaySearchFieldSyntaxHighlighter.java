@@ -25,6 +25,7 @@ package me.shedaniel.rei.impl.client.gui.widget.search;
 
 import me.shedaniel.rei.impl.client.search.IntRange;
 import me.shedaniel.rei.impl.client.search.argument.Argument;
+import me.shedaniel.rei.impl.client.search.argument.CompiledQuery;
 import me.shedaniel.rei.impl.client.search.argument.type.ArgumentTypesRegistry;
 import org.jetbrains.annotations.ApiStatus;
 
@@ -42,7 +43,7 @@ public class OverlaySearchFieldSyntaxHighlighter implements Consumer<String> {
     @Override
     public void accept(String text) {
         this.highlighted = new byte[text.length()];
-        Argument.bakeArguments(text, new Argument.ProcessedSink() {
+        CompiledQuery.compile(text).replay(new Argument.ProcessedSink() {
             @Override
             public void addQuote(int index) {
                 highlighted[index] = -2;
@@ -25,6 +25,8 @@ package me.shedaniel.rei.impl.client.registry.category;
 
 import com.google.common.base.MoreObjects;
 import dev.architectury.event.EventResult;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import me.shedaniel.rei.api.client.config.ConfigObject;
 import me.shedaniel.rei.api.client.plugins.REIClientPlugin;
 import me.shedaniel.rei.api.client.registry.category.ButtonArea;
@@ -36,6 +38,8 @@ import me.shedaniel.rei.api.client.registry.display.DisplayCategoryView;
 import me.shedaniel.rei.api.common.category.CategoryIdentifier;
 import me.shedaniel.rei.api.common.display.Display;
 import me.shedaniel.rei.api.common.entry.EntryIngredient;
+import me.shedaniel.rei.api.common.entry.EntryStack;
+import me.shedaniel.rei.api.common.util.EntryStacks;
 import me.shedaniel.rei.impl.common.InternalLogger;
 import org.jetbrains.annotations.ApiStatus;
 
@@ -48,6 +52,7 @@ public class CategoryRegistryImpl implements CategoryRegistry {
     private final Map<CategoryIdentifier<?>, Configuration<?>> categories = new LinkedHashMap<>();
     private final Map<CategoryIdentifier<?>, List<Consumer<CategoryConfiguration<?>>>> listeners = new HashMap<>();
     private final List<CategoryVisibilityPredicate> visibilityPredicates = new ArrayList<>();
+    private final Long2ObjectMap<List<IndexedWorkstation>> workstationIndex = new Long2ObjectOpenHashMap<>();
     
     @Override
     public void acceptPlugin(REIClientPlugin plugin) {
@@ -59,6 +64,9 @@ public class CategoryRegistryImpl implements CategoryRegistry {
         this.categories.clear();
         this.listeners.clear();
         this.visibilityPredicates.clear();
+        synchronized (this.workstationIndex) {
+            this.workstationIndex.clear();
+        }
         this.registerVisibilityPredicate(category -> ConfigObject.getInstance().getHiddenCategories().contains(category.getCategoryIdentifier())
                 ? EventResult.interruptFalse() : EventResult.pass());
     }
@@ -72,7 +80,7 @@ public class CategoryRegistryImpl implements CategoryRegistry {
     
     @Override
     public <T extends Display> void add(DisplayCategory<T> category, Consumer<CategoryConfiguration<T>> configurator) {
-        Configuration<T> configuration = new Configuration<>(category);
+        Configuration<T> configuration = new Configuration<>(this, category);
         this.categories.put(category.getCategoryIdentifier(), configuration);
         configurator.accept(configuration);
         
@@ -145,7 +153,44 @@ public class CategoryRegistryImpl implements CategoryRegistry {
         return Collections.unmodifiableList(visibilityPredicates);
     }
     
+    /**
+     * Returns the categories that have the given stack as one of their workstations,
+     * looked up by the fuzzy hash of the stack.
+     *
+     * @param stack the stack to look up
+     * @return the categories with the stack as a workstation
+     */
+    public Set<CategoryIdentifier<?>> getWorkstationCategories(EntryStack<?> stack) {
+        List<IndexedWorkstation> candidates;
+        synchronized (this.workstationIndex) {
+            candidates = this.workstationIndex.get(EntryStacks.hashFuzzy(stack));
+            if (candidates == null) return Collections.emptySet();
+            candidates = new ArrayList<>(candidates);
+        }
+        Set<CategoryIdentifier<?>> categories = new HashSet<>();
+        for (IndexedWorkstation candidate : candidates) {
+            if (!categories.contains(candidate.category()) && EntryStacks.equalsFuzzy(candidate.stack(), stack)) {
+                categories.add(candidate.category());
+            }
+        }
+        return categories;
+    }
+    
+    private void indexWorkstations(CategoryIdentifier<?> category, EntryIngredient... stations) {
+        synchronized (this.workstationIndex) {
+            for (EntryIngredient station : stations) {
+                for (EntryStack<?> stack : station) {
+                    this.workstationIndex.computeIfAbsent(EntryStacks.hashFuzzy(stack), $ -> new ArrayList<>())
+                            .add(new IndexedWorkstation(category, stack));
+                }
+            }
+        }
+    }
+    
+    private record IndexedWorkstation(CategoryIdentifier<?> category, EntryStack<?> stack) {}
+    
     private static class Configuration<T extends Display> implements CategoryConfiguration<T> {
+        private final CategoryRegistryImpl registry;
         private final DisplayCategory<T> category;
         private final List<EntryIngredient> workstations = Collections.synchronizedList(new ArrayList<>());
         private final List<CategoryExtensionProvider<T>> extensionProviders = Collections.synchronizedList(new ArrayList<>());
@@ -153,13 +198,15 @@ public class CategoryRegistryImpl implements CategoryRegistry {
         
         private ButtonArea plusButtonArea = ButtonArea.defaultArea();
         
-        public Configuration(DisplayCategory<T> category) {
+        public Configuration(CategoryRegistryImpl registry, DisplayCategory<T> category) {
+            this.registry = registry;
             this.category = category;
         }
         
         @Override
         public void addWorkstations(EntryIngredient... stations) {
             this.workstations.addAll(Arrays.asList(stations));
+            this.registry.indexWorkstations(getCategoryIdentifier(), stations);
         }
         
         @Override
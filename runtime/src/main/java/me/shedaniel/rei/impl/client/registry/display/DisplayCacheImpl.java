@@ -28,6 +28,8 @@ import com.google.common.collect.Multimaps;
 import com.google.common.collect.SetMultimap;
 import it.unimi.dsi.fastutil.Hash;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenCustomHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import me.shedaniel.rei.api.client.config.ConfigObject;
 import me.shedaniel.rei.api.common.display.Display;
@@ -36,8 +38,7 @@ import me.shedaniel.rei.api.common.entry.EntryStack;
 import me.shedaniel.rei.api.common.util.EntryStacks;
 import me.shedaniel.rei.impl.common.InternalLogger;
 
-import java.util.Collections;
-import java.util.Set;
+import java.util.*;
 
 public class DisplayCacheImpl implements DisplayCache {
     private final boolean cache;
@@ -125,9 +126,7 @@ public class DisplayCacheImpl implements DisplayCache {
             this.displaysCached = new ReferenceOpenHashSet<>(this.displaysNotCached.size());
             this.displaysByInput = createSetMultimap();
             this.displaysByOutput = createSetMultimap();
-            for (Display display : this.displaysNotCached) {
-                this.process(display);
-            }
+            this.processAll(this.displaysNotCached);
             this.displaysCached.addAll(this.displaysNotCached);
             this.displaysNotCached = Set.of();
             this.preprocessed = true;
@@ -163,6 +162,33 @@ public class DisplayCacheImpl implements DisplayCache {
         }
     }
     
+    /**
+     * Indexes the displays grouped by ingredient identity, so that ingredients shared between displays
+     * (e.g. interned ingredients) are only hashed once.
+     */
+    private void processAll(Collection<Display> displays) {
+        Reference2ObjectMap<EntryIngredient, List<Display>> byInput = new Reference2ObjectOpenHashMap<>();
+        Reference2ObjectMap<EntryIngredient, List<Display>> byOutput = new Reference2ObjectOpenHashMap<>();
+        for (Display display : displays) {
+            for (EntryIngredient input : display.getInputEntries()) {
+                byInput.computeIfAbsent(input, $ -> new ArrayList<>()).add(display);
+            }
+            for (EntryIngredient output : display.getOutputEntries()) {
+                byOutput.computeIfAbsent(output, $ -> new ArrayList<>()).add(display);
+            }
+        }
+        for (Reference2ObjectMap.Entry<EntryIngredient, List<Display>> entry : byInput.reference2ObjectEntrySet()) {
+            for (EntryStack<?> stack : entry.getKey()) {
+                this.displaysByInput.putAll(stack, entry.getValue());
+            }
+        }
+        for (Reference2ObjectMap.Entry<EntryIngredient, List<Display>> entry : byOutput.reference2ObjectEntrySet()) {
+            for (EntryStack<?> stack : entry.getKey()) {
+                this.displaysByOutput.putAll(stack, entry.getValue());
+            }
+        }
+    }
+    
     private static SetMultimap<EntryStack<?>, Display> createSetMultimap() {
         return Multimaps.newSetMultimap(
                 new Object2ObjectOpenCustomHashMap<>(5000, new Hash.Strategy<>() {
@@ -27,6 +27,7 @@ import com.google.common.base.Stopwatch;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import dev.architectury.event.EventResult;
+import me.shedaniel.rei.api.client.config.ConfigObject;
 import me.shedaniel.rei.api.client.plugins.REIClientPlugin;
 import me.shedaniel.rei.api.client.registry.category.CategoryRegistry;
 import me.shedaniel.rei.api.client.registry.display.DisplayCategory;
@@ -37,9 +38,12 @@ import me.shedaniel.rei.api.client.registry.display.reason.DisplayAdditionReason
 import me.shedaniel.rei.api.client.registry.display.visibility.DisplayVisibilityPredicate;
 import me.shedaniel.rei.api.common.category.CategoryIdentifier;
 import me.shedaniel.rei.api.common.display.Display;
+import me.shedaniel.rei.api.common.display.basic.BasicDisplay;
 import me.shedaniel.rei.api.common.plugins.PluginManager;
 import me.shedaniel.rei.api.common.registry.ReloadStage;
+import me.shedaniel.rei.impl.client.gui.widget.favorites.history.DisplayHistoryManager;
 import me.shedaniel.rei.impl.common.InternalLogger;
+import me.shedaniel.rei.impl.common.entry.EntryIngredientInterner;
 import me.shedaniel.rei.impl.common.registry.RecipeManagerContextImpl;
 import net.minecraft.world.item.crafting.Recipe;
 import net.minecraft.world.item.crafting.RecipeHolder;
@@ -58,6 +62,7 @@ public class DisplayRegistryImpl extends RecipeManagerContextImpl<REIClientPlugi
     private final List<DisplayFiller<?>> fillers = new ArrayList<>();
     private long lastAddWarning = -1;
     private DisplaysHolder displaysHolder = new DisplaysHolderImpl(false);
+    private final DynamicDisplayGeneratorCache generatorCache = new DynamicDisplayGeneratorCache();
     
     @Override
     public void acceptPlugin(REIClientPlugin plugin) {
@@ -112,6 +117,10 @@ public class DisplayRegistryImpl extends RecipeManagerContextImpl<REIClientPlugi
         return Collections.unmodifiableList(globalDisplayGenerators);
     }
     
+    public DynamicDisplayGeneratorCache getGeneratorCache() {
+        return generatorCache;
+    }
+    
     @Override
     public void registerVisibilityPredicate(DisplayVisibilityPredicate predicate) {
         visibilityPredicates.add(predicate);
@@ -187,6 +196,7 @@ public class DisplayRegistryImpl extends RecipeManagerContextImpl<REIClientPlugi
         this.displayGenerators.clear();
         this.visibilityPredicates.clear();
         this.fillers.clear();
+        this.generatorCache.invalidate();
     }
     
     @Override
@@ -201,7 +211,12 @@ public class DisplayRegistryImpl extends RecipeManagerContextImpl<REIClientPlugi
         }
         
         removeFailedDisplays();
+        if (ConfigObject.getInstance().doesInternDisplayIngredients()) {
+            internIngredients();
+        }
         this.displaysHolder.endReload();
+        this.generatorCache.reload();
+        DisplayHistoryManager.INSTANCE.markDirty();
         InternalLogger.getInstance().debug("%d displays registration have completed", displaySize());
     }
     
@@ -222,6 +237,20 @@ public class DisplayRegistryImpl extends RecipeManagerContextImpl<REIClientPlugi
         InternalLogger.getInstance().debug("Filled %d displays from recipe manager in %s", displaySize() - lastSize, stopwatch.stop());
     }
     
+    private void internIngredients() {
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        EntryIngredientInterner interner = new EntryIngredientInterner();
+        for (List<Display> displays : getAll().values()) {
+            for (Display display : displays) {
+                if (display instanceof BasicDisplay basicDisplay) {
+                    basicDisplay.internIngredients(interner::intern);
+                }
+            }
+        }
+        InternalLogger.getInstance().debug("Interned %d ingredients into %d unique ingredients, saving approximately %d KB in %s",
+                interner.getInternedCount() + interner.getUniqueCount(), interner.getUniqueCount(), interner.getSavedBytes() / 1024, stopwatch.stop());
+    }
+    
     private void removeFailedDisplays() {
         Multimap<CategoryIdentifier<?>, Display> failedDisplays = Multimaps.newListMultimap(new HashMap<>(), ArrayList::new);
         for (List<Display> displays : getAll().values()) {
@@ -0,0 +1,117 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022, 2023 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl.client.registry.display;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import me.shedaniel.rei.api.client.config.ConfigObject;
+import me.shedaniel.rei.api.client.registry.display.DynamicDisplayGenerator;
+import me.shedaniel.rei.api.client.view.ViewSearchBuilder;
+import me.shedaniel.rei.api.common.display.Display;
+import me.shedaniel.rei.api.common.entry.EntryStack;
+import me.shedaniel.rei.api.common.util.EntryStacks;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches the results of {@link DynamicDisplayGenerator#getRecipeFor(EntryStack)} and
+ * {@link DynamicDisplayGenerator#getUsageFor(EntryStack)} for generators that are {@link DynamicDisplayGenerator#cacheable()},
+ * keyed by the generator, the exact hash of the stack and the direction of the lookup.
+ * <p>
+ * The cache is bounded by {@link ConfigObject#getDynamicDisplayCacheSize()} and entries expire
+ * after {@link ConfigObject#getDynamicDisplayCacheExpiry()} seconds, it is replaced at the end of every reload.
+ * Lookups that throw are not cached, errors are reported by the caller.
+ */
+public class DynamicDisplayGeneratorCache {
+    @Nullable
+    private volatile Cache<Key, Optional<? extends List<? extends Display>>> cache;
+    
+    /**
+     * Returns a view of the generator that caches {@link DynamicDisplayGenerator#getRecipeFor(EntryStack)} and
+     * {@link DynamicDisplayGenerator#getUsageFor(EntryStack)}, any exception thrown by the generator is propagated.
+     */
+    public <T extends Display> DynamicDisplayGenerator<T> wrap(DynamicDisplayGenerator<T> generator) {
+        return new DynamicDisplayGenerator<>() {
+            @Override
+            public Optional<List<T>> getRecipeFor(EntryStack<?> entry) {
+                return get(generator, entry, true);
+            }
+            
+            @Override
+            public Optional<List<T>> getUsageFor(EntryStack<?> entry) {
+                return get(generator, entry, false);
+            }
+            
+            @Override
+            public Optional<List<T>> generate(ViewSearchBuilder builder) {
+                return generator.generate(builder);
+            }
+        };
+    }
+    
+    private <T extends Display> Optional<List<T>> get(DynamicDisplayGenerator<T> generator, EntryStack<?> stack, boolean recipe) {
+        Cache<Key, Optional<? extends List<? extends Display>>> cache = this.cache;
+        if (cache == null || !generator.cacheable()) {
+            return recipe ? generator.getRecipeFor(stack) : generator.getUsageFor(stack);
+        }
+        Key key = new Key(generator, EntryStacks.hashExact(stack), recipe);
+        Optional<List<T>> result = (Optional<List<T>>) cache.getIfPresent(key);
+        if (result == null) {
+            result = recipe ? generator.getRecipeFor(stack) : generator.getUsageFor(stack);
+            cache.put(key, result);
+        }
+        return result;
+    }
+    
+    /**
+     * Replaces the cache with an empty one built from the current config.
+     */
+    public void reload() {
+        ConfigObject config = ConfigObject.getInstance();
+        int size = config.getDynamicDisplayCacheSize();
+        if (size > 0) {
+            CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().maximumSize(size);
+            int expiry = config.getDynamicDisplayCacheExpiry();
+            if (expiry > 0) {
+                builder.expireAfterWrite(expiry, TimeUnit.SECONDS);
+            }
+            this.cache = builder.build();
+        } else {
+            this.cache = null;
+        }
+    }
+    
+    /**
+     * Drops the cache, lookups are not cached until the next {@link #reload()}.
+     */
+    public void invalidate() {
+        this.cache = null;
+    }
+    
+    private record Key(DynamicDisplayGenerator<?> generator, long hash, boolean recipe) {
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022, 2023 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl.client.registry.screen;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import me.shedaniel.math.Point;
+import me.shedaniel.math.Rectangle;
+import me.shedaniel.rei.api.client.registry.screen.ClickArea;
+import net.minecraft.client.gui.screens.Screen;
+import net.minecraft.client.gui.screens.inventory.AbstractContainerScreen;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Spatial index of the click areas registered for a screen class.
+ * <p>
+ * Areas declaring static bounds through {@link ClickArea#getBounds(Screen)} are bucketed into a grid,
+ * which is rebuilt whenever the layout of the screen changes, so only the bounded areas under the cursor
+ * are evaluated, and their results are memoized until the mouse moves or the layout changes.
+ * Areas without declared bounds are evaluated on every lookup, as they may move at any time.
+ */
+@ApiStatus.Internal
+class ClickAreaIndex<T extends Screen> {
+    private static final int CELL_SIZE = 16;
+    private static final int MAX_CELLS = 256;
+    private final List<ClickArea<T>> areas;
+    private final Long2ObjectMap<IntList> cells = new Long2ObjectOpenHashMap<>();
+    private final IntList large = new IntArrayList();
+    private final IntList unbounded = new IntArrayList();
+    private final Rectangle[] bounds;
+    @Nullable
+    private Screen screen;
+    private int width, height, leftPos, topPos;
+    @Nullable
+    private Point lastMouse;
+    private final IntList boundedHits = new IntArrayList();
+    private List<ClickArea.Result> boundedResults = Collections.emptyList();
+    
+    public ClickAreaIndex(Collection<ClickArea<?>> areas) {
+        this.areas = new ArrayList<>((Collection<ClickArea<T>>) (Collection<?>) areas);
+        this.bounds = new Rectangle[this.areas.size()];
+    }
+    
+    public List<ClickArea.Result> evaluate(ClickArea.ClickAreaContext<T> context) {
+        T screen = context.getScreen();
+        Point mouse = context.getMousePosition();
+        
+        if (!isLayoutUnchanged(screen)) {
+            rebuild(screen);
+        }
+        
+        if (!mouse.equals(lastMouse)) {
+            evaluateBounded(context, mouse);
+        }
+        
+        if (unbounded.isEmpty()) {
+            return boundedResults;
+        }
+        
+        // Merge both lists by index, so areas are still evaluated in their original order
+        List<ClickArea.Result> results = new ArrayList<>();
+        int hitIndex = 0;
+        for (int i = 0; i < unbounded.size(); i++) {
+            int index = unbounded.getInt(i);
+            while (hitIndex < boundedHits.size() && boundedHits.getInt(hitIndex) < index) {
+                results.add(boundedResults.get(hitIndex++));
+            }
+            
+            ClickArea.Result result = areas.get(index).handle(context);
+            
+            if (result.isSuccessful()) {
+                results.add(result);
+            }
+        }
+        results.addAll(boundedResults.subList(hitIndex, boundedResults.size()));
+        return results;
+    }
+    
+    private void evaluateBounded(ClickArea.ClickAreaContext<T> context, Point mouse) {
+        this.lastMouse = mouse;
+        this.boundedHits.clear();
+        List<ClickArea.Result> results = new ArrayList<>();
+        IntList candidates = cells.get(cellKey(Math.floorDiv(mouse.x, CELL_SIZE), Math.floorDiv(mouse.y, CELL_SIZE)));
+        int candidateIndex = 0, largeIndex = 0;
+        int candidatesSize = candidates == null ? 0 : candidates.size();
+        while (candidateIndex < candidatesSize || largeIndex < large.size()) {
+            int index;
+            if (largeIndex >= large.size() || (candidateIndex < candidatesSize && candidates.getInt(candidateIndex) < large.getInt(largeIndex))) {
+                index = candidates.getInt(candidateIndex++);
+            } else {
+                index = large.getInt(largeIndex++);
+            }
+            if (!bounds[index].contains(mouse)) continue;
+            
+            ClickArea.Result result = areas.get(index).handle(context);
+            
+            if (result.isSuccessful()) {
+                boundedHits.add(index);
+                results.add(result);
+            }
+        }
+        
+        this.boundedResults = Collections.unmodifiableList(results);
+    }
+    
+    private boolean isLayoutUnchanged(T screen) {
+        if (this.screen != screen || this.width != screen.width || this.height != screen.height) return false;
+        if (screen instanceof AbstractContainerScreen<?> containerScreen) {
+            return this.leftPos == containerScreen.leftPos && this.topPos == containerScreen.topPos;
+        }
+        return true;
+    }
+    
+    private void rebuild(T screen) {
+        this.screen = screen;
+        this.width = screen.width;
+        this.height = screen.height;
+        if (screen instanceof AbstractContainerScreen<?> containerScreen) {
+            this.leftPos = containerScreen.leftPos;
+            this.topPos = containerScreen.topPos;
+        }
+        this.lastMouse = null;
+        this.cells.clear();
+        this.large.clear();
+        this.unbounded.clear();
+        
+        for (int i = 0; i < areas.size(); i++) {
+            Rectangle rectangle = areas.get(i).getBounds(screen);
+            bounds[i] = rectangle;
+            if (rectangle == null) {
+                unbounded.add(i);
+                continue;
+            }
+            
+            int minX = Math.floorDiv(rectangle.x, CELL_SIZE), maxX = Math.floorDiv(rectangle.getMaxX(), CELL_SIZE);
+            int minY = Math.floorDiv(rectangle.y, CELL_SIZE), maxY = Math.floorDiv(rectangle.getMaxY(), CELL_SIZE);
+            if ((long) (maxX - minX + 1) * (maxY - minY + 1) > MAX_CELLS) {
+                // Not worth indexing, just check the bounds every time the mouse moves
+                large.add(i);
+                continue;
+            }
+            
+            for (int x = minX; x <= maxX; x++) {
+                for (int y = minY; y <= maxY; y++) {
+                    cells.computeIfAbsent(cellKey(x, y), $ -> new IntArrayList()).add(i);
+                }
+            }
+        }
+    }
+    
+    private static long cellKey(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+}
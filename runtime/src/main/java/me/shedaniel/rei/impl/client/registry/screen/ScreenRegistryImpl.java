@@ -66,6 +66,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
 @Environment(EnvType.CLIENT)
 public class ScreenRegistryImpl implements ScreenRegistry {
     private Multimap<Class<? extends Screen>, ClickArea<?>> clickAreas = HashMultimap.create();
+    private Map<Class<? extends Screen>, ClickAreaIndex<?>> clickAreaIndices = new HashMap<>();
     private List<DraggableComponentProvider<Screen, Object>> draggableProviders = new CopyOnWriteArrayList<>();
     private List<DraggableComponentVisitor<Screen>> draggableVisitors = new CopyOnWriteArrayList<>();
     private List<FocusedStackProvider> focusedStackProviders = new CopyOnWriteArrayList<>();
@@ -212,6 +213,26 @@ public class ScreenRegistryImpl implements ScreenRegistry {
         return exclusionZones;
     }
     
+    @Override
+    public <C extends AbstractContainerMenu, T extends AbstractContainerScreen<C>> void registerContainerClickArea(Rectangle area, Class<? extends T> screenClass, CategoryIdentifier<?>... categories) {
+        // A fixed rectangle only moves with the container, so it is safe to declare its bounds to the click area index
+        registerClickArea(screenClass, new ClickArea<T>() {
+            @Override
+            public Result handle(ClickAreaContext<T> context) {
+                return getBounds(context.getScreen()).contains(context.getMousePosition())
+                        ? ClickArea.Result.success().categories(Arrays.asList(categories))
+                        : ClickArea.Result.fail();
+            }
+            
+            @Override
+            public Rectangle getBounds(T screen) {
+                Rectangle rectangle = area.clone();
+                rectangle.translate(screen.leftPos, screen.topPos);
+                return rectangle;
+            }
+        });
+    }
+    
     @Override
     public <C extends AbstractContainerMenu, T extends AbstractContainerScreen<C>> void registerContainerClickArea(SimpleClickArea<T> area, Class<? extends T> screenClass, CategoryIdentifier<?>... categories) {
         registerClickArea(screen -> {
@@ -224,25 +245,26 @@ public class ScreenRegistryImpl implements ScreenRegistry {
     @Override
     public <T extends Screen> void registerClickArea(Class<? extends T> screenClass, ClickArea<T> area) {
         clickAreas.put(screenClass, area);
+        clickAreaIndices.remove(screenClass);
         InternalLogger.getInstance().debug("Added click area provider for %s: %s", screenClass.getName(), area);
     }
     
     @Override
     public <T extends Screen> List<ClickArea.Result> evaluateClickArea(Class<T> screenClass, ClickArea.ClickAreaContext<T> context) {
-        List<ClickArea.Result> results = new ArrayList<>();
-        for (ClickArea<?> area : this.clickAreas.get(screenClass)) {
-            ClickArea.Result result = ((ClickArea<T>) area).handle(context);
-            
-            if (result.isSuccessful()) {
-                results.add(result);
-            }
+        ClickAreaIndex<T> index = (ClickAreaIndex<T>) clickAreaIndices.get(screenClass);
+        if (index == null) {
+            Collection<ClickArea<?>> areas = this.clickAreas.get(screenClass);
+            if (areas.isEmpty()) return Collections.emptyList();
+            index = new ClickAreaIndex<>(areas);
+            clickAreaIndices.put(screenClass, index);
         }
-        return results;
+        return index.evaluate(context);
     }
     
     @Override
     public void startReload() {
         clickAreas.clear();
+        clickAreaIndices.clear();
         deciders.clear();
         cache.clear();
         focusedStackProviders.clear();
@@ -30,9 +30,8 @@ import me.shedaniel.rei.api.client.search.method.InputMethod;
 import me.shedaniel.rei.api.common.entry.EntryStack;
 import me.shedaniel.rei.api.common.util.CollectionUtils;
 import me.shedaniel.rei.api.common.util.EntryStacks;
-import me.shedaniel.rei.impl.client.search.argument.AlternativeArgument;
 import me.shedaniel.rei.impl.client.search.argument.Argument;
-import me.shedaniel.rei.impl.client.search.argument.CompoundArgument;
+import me.shedaniel.rei.impl.client.search.argument.CompiledQuery;
 import me.shedaniel.rei.impl.client.search.argument.type.ArgumentType;
 import me.shedaniel.rei.impl.common.InternalLogger;
 import me.shedaniel.rei.impl.common.util.HashedEntryStackWrapper;
@@ -41,7 +40,6 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 public class SearchProviderImpl implements SearchProvider {
     @Override
@@ -56,26 +54,19 @@ public class SearchProviderImpl implements SearchProvider {
     public static class SearchFilterImpl implements SearchFilter {
         private final String filter;
         private final InputMethod<?> inputMethod;
-        private final Supplier<List<CompoundArgument>> arguments;
-        private final Supplier<List<ArgumentType<?, ?>>> argumentTypes;
+        private final Supplier<CompiledQuery> query;
         
         public SearchFilterImpl(String filter, InputMethod<?> inputMethod) {
             this.filter = filter;
             this.inputMethod = inputMethod;
-            this.arguments = Suppliers.memoize(() -> Argument.bakeArguments(filter));
-            this.argumentTypes = Suppliers.memoize(() -> this.arguments.get().stream()
-                    .flatMap(CompoundArgument::stream)
-                    .flatMap(AlternativeArgument::stream)
-                    .map(Argument::getArgument)
-                    .distinct()
-                    .collect(Collectors.toList()));
+            this.query = Suppliers.memoize(() -> CompiledQuery.compile(filter));
             InternalLogger.getInstance().debug("Created search filter with \"%s\" using %s", filter, inputMethod.getName().getString());
         }
         
         @Override
         public boolean test(EntryStack<?> stack, long hashExact) {
             try {
-                return Argument.matches(stack, hashExact, arguments.get(), inputMethod);
+                return Argument.matches(stack, hashExact, query.get().getArguments(), inputMethod);
             } catch (Throwable throwable) {
                 throw new RuntimeException("Failed to test search filter: \"" + filter + "\" with stack [" + stack.getType().getIdentifier() + "@" + stack.getIdentifier() + "!" + stack.getValue() + "]", throwable);
             }
@@ -88,7 +79,8 @@ public class SearchProviderImpl implements SearchProvider {
         
         @Override
         public void prepareFilter(Collection<EntryStack<?>> stacks) {
-            Argument.cache.prepareFilter(CollectionUtils.map(stacks, HashedEntryStackWrapper::new), argumentTypes.get());
+            // Later terms are only evaluated for the entries accepted by the leading terms, leave them to be cached lazily
+            Argument.cache.prepareFilter(CollectionUtils.map(stacks, HashedEntryStackWrapper::new), query.get().getLeadingArgumentTypes());
         }
         
         @Override
@@ -97,7 +89,7 @@ public class SearchProviderImpl implements SearchProvider {
         }
         
         public List<ArgumentType<?, ?>> getArgumentTypes() {
-            return argumentTypes.get();
+            return query.get().getArgumentTypes();
         }
         
         @Override
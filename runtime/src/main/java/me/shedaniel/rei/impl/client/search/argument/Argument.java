@@ -26,7 +26,6 @@ package me.shedaniel.rei.impl.client.search.argument;
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.Lists;
 import it.unimi.dsi.fastutil.ints.IntList;
-import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import me.shedaniel.rei.api.client.gui.config.SearchMode;
 import me.shedaniel.rei.api.client.registry.entry.EntryRegistry;
 import me.shedaniel.rei.api.client.search.method.CharacterUnpackingInputMethod;
@@ -77,12 +76,17 @@ public class Argument<T, R> {
     }
     
     public static void resetCache(boolean cache) {
-        Argument.cache = new ArgumentCache();
-        CollapsedEntriesCache.reset();
+        Argument.cache.cancelWarming();
         List<HashedEntryStackWrapper> stacks = CollectionUtils.map(((EntryRegistryImpl) EntryRegistry.getInstance()).getComplexList(),
                 HNEntryStackWrapper::normalize);
+        Argument.cache = new ArgumentCache(stacks);
+        if (Minecraft.getInstance().options != null) {
+            // the cache is built for the current language, avoid discarding it on the next search
+            LAST_LANGUAGE.set(Minecraft.getInstance().options.languageCode);
+        }
+        CollapsedEntriesCache.reset();
         if (cache) {
-            Argument.cache.prepareFilter(stacks, ArgumentTypesRegistry.ARGUMENT_TYPE_LIST, ArgumentCache.EXECUTOR_SERVICE);
+            Argument.cache.warm(stacks, ArgumentTypesRegistry.ARGUMENT_TYPE_LIST);
         }
         CollapsedEntriesCache.getInstance().prepare(stacks);
     }
@@ -169,8 +173,10 @@ public class Argument<T, R> {
     
     public static boolean matches(EntryStack<?> stack, long hashExact, List<CompoundArgument> compoundArguments, InputMethod<?> inputMethod) {
         if (compoundArguments.isEmpty()) return true;
-        String newLanguage = Minecraft.getInstance().options.languageCode;
-        if (!Objects.equals(LAST_LANGUAGE.getAndSet(newLanguage), newLanguage)) {
+        // The client is absent when searching headless, e.g. in benchmarks
+        Minecraft minecraft = Minecraft.getInstance();
+        String newLanguage = minecraft == null ? null : minecraft.options.languageCode;
+        if (newLanguage != null && !Objects.equals(LAST_LANGUAGE.getAndSet(newLanguage), newLanguage)) {
             resetCache(false);
         }
         
@@ -203,7 +209,7 @@ public class Argument<T, R> {
     }
     
     private static <T, R, B> boolean matches(ArgumentType<T, B> argumentType, EntryStack<?> stack, long hashExact, R filterData, ResultSinkImpl<?> sink) {
-        Long2ObjectMap<Object> map = Argument.cache.getSearchCache(argumentType);
+        ArgumentCache.Data map = Argument.cache.getSearchCache(argumentType);
         Object value = map.get(hashExact);
         if (value == null) {
             value = argumentType.cacheData(stack);
@@ -24,13 +24,7 @@
 package me.shedaniel.rei.impl.client.search.argument;
 
 import com.google.common.collect.Lists;
-import it.unimi.dsi.fastutil.longs.Long2ObjectArrayMap;
-import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
-import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
-import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
-import it.unimi.dsi.fastutil.shorts.Short2ObjectMap;
-import it.unimi.dsi.fastutil.shorts.Short2ObjectMaps;
-import it.unimi.dsi.fastutil.shorts.Short2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.*;
 import me.shedaniel.rei.api.client.config.ConfigObject;
 import me.shedaniel.rei.api.common.util.CollectionUtils;
 import me.shedaniel.rei.impl.client.search.argument.type.ArgumentType;
@@ -41,67 +35,117 @@ import net.minecraft.Util;
 import org.apache.logging.log4j.Level;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
+/**
+ * Cache of the search data of entries, per argument type.
+ * <p>
+ * Entries of the registry the cache was created for are stored densely, indexed by their position
+ * in the registry, the index is immutable after construction, so search threads can read the cache
+ * without locking. Entries outside the registry fall back to a synchronized hash map.
+ */
 public class ArgumentCache {
     public static final ExecutorService EXECUTOR_SERVICE = new ThreadCreator("REI-Cache").asService(2);
-    private final Short2ObjectMap<Long2ObjectMap<Object>> cache = Short2ObjectMaps.synchronize(new Short2ObjectOpenHashMap<>());
-    public Long prepareStart = null;
-    public List<HashedEntryStackWrapper> prepareStacks = null;
-    public CurrentStep currentStep = null;
+    private final Long2IntMap index;
+    private final int indexSize;
+    private volatile Data[] data = new Data[0];
+    /**
+     * The progress of the running preparation or warming, published as a whole for the UI thread.
+     */
+    @Nullable
+    public volatile Progress progress = null;
+    @Nullable
+    private volatile ArgumentCacheWarmer warmer = null;
+    
+    public ArgumentCache() {
+        this(List.of());
+    }
+    
+    public ArgumentCache(List<HashedEntryStackWrapper> registryStacks) {
+        Long2IntOpenHashMap index = new Long2IntOpenHashMap(registryStacks.size());
+        index.defaultReturnValue(-1);
+        for (HashedEntryStackWrapper stack : registryStacks) {
+            index.putIfAbsent(stack.hashExact(), index.size());
+        }
+        this.index = index;
+        this.indexSize = index.size();
+    }
     
-    public Long2ObjectMap<Object> getSearchCache(ArgumentType<?, ?> argumentType) {
-        short argumentIndex = (short) argumentType.getIndex();
-        Long2ObjectMap<Object> map = cache.get(argumentIndex);
-        if (map == null) {
-            cache.put(argumentIndex, map = Long2ObjectMaps.synchronize(new Long2ObjectOpenHashMap<>()));
+    public Data getSearchCache(ArgumentType<?, ?> argumentType) {
+        int argumentIndex = argumentType.getIndex();
+        Data[] data = this.data;
+        if (argumentIndex < data.length && data[argumentIndex] != null) {
+            return data[argumentIndex];
+        }
+        synchronized (this) {
+            data = this.data;
+            if (argumentIndex >= data.length) {
+                data = Arrays.copyOf(data, argumentIndex + 1);
+            } else if (data[argumentIndex] != null) {
+                return data[argumentIndex];
+            } else {
+                data = data.clone();
+            }
+            Data argumentData = data[argumentIndex] = new Data(index, indexSize);
+            this.data = data;
+            return argumentData;
         }
-        return map;
     }
     
     public void prepareFilter(Collection<HashedEntryStackWrapper> stacks, Collection<ArgumentType<?, ?>> argumentTypes) {
         this.prepareFilter(stacks, argumentTypes, null);
     }
     
+    /**
+     * Prepares the stacks synchronously, even while the cache is warming, so every stack is cached when this returns.
+     * The progress of a running warming is left untouched.
+     */
     public void prepareFilter(Collection<HashedEntryStackWrapper> stacks, Collection<ArgumentType<?, ?>> argumentTypes, @Nullable Executor executor) {
-        if (currentStep != null) return;
-        try {
-            prepareStart = Util.getEpochMillis();
-            List<Long2ObjectMap<Object>> caches = CollectionUtils.map(argumentTypes, this::getSearchCache);
-            prepareStacks = CollectionUtils.filterToList(stacks, stack -> {
-                for (Long2ObjectMap<Object> cache : caches) {
-                    if (!cache.containsKey(stack.hashExact())) {
-                        return true;
-                    }
+        long start = Util.getEpochMillis();
+        List<Data> caches = CollectionUtils.map(argumentTypes, this::getSearchCache);
+        List<HashedEntryStackWrapper> prepareStacks = CollectionUtils.filterToList(stacks, stack -> {
+            for (Data cache : caches) {
+                if (!cache.containsKey(stack.hashExact())) {
+                    return true;
                 }
-                
-                return false;
-            });
-            if (prepareStacks.isEmpty()) {
-                return;
             }
-            InternalLogger.getInstance().log(ConfigObject.getInstance().doDebugSearchTimeRequired() ? Level.INFO : Level.TRACE, "Preparing " + (prepareStacks.size() * argumentTypes.size()) + " stacks for search arguments");
-            currentStep = new CurrentStep(0, argumentTypes.size());
+            
+            return false;
+        });
+        if (prepareStacks.isEmpty()) {
+            return;
+        }
+        InternalLogger.getInstance().log(ConfigObject.getInstance().doDebugSearchTimeRequired() ? Level.INFO : Level.TRACE, "Preparing " + (prepareStacks.size() * argumentTypes.size()) + " stacks for search arguments");
+        CurrentStep currentStep = new CurrentStep(0, argumentTypes.size());
+        Progress progress = new Progress(start, prepareStacks, currentStep);
+        if (this.progress == null) {
+            this.progress = progress;
+        }
+        try {
             int searchPartitionSize = ConfigObject.getInstance().getAsyncSearchPartitionSize();
             boolean async = ConfigObject.getInstance().shouldAsyncSearch() && prepareStacks.size() > searchPartitionSize * 4;
-            this.cache(argumentTypes, async ? executor : Runnable::run);
+            this.cache(argumentTypes, progress, async ? executor : Runnable::run);
         } finally {
-            prepareStart = null;
-            prepareStacks = null;
-            currentStep = null;
+            if (this.progress == progress) {
+                this.progress = null;
+            }
         }
     }
     
-    private void cache(Collection<ArgumentType<?, ?>> argumentTypes, @Nullable Executor executor) {
+    private void cache(Collection<ArgumentType<?, ?>> argumentTypes, Progress progress, @Nullable Executor executor) {
         int searchPartitionSize = ConfigObject.getInstance().getAsyncSearchPartitionSize();
         List<CompletableFuture<Long2ObjectMap<Object>>> futures = Lists.newArrayList();
+        CurrentStep currentStep = progress.step();
+        List<HashedEntryStackWrapper> prepareStacks = progress.stacks();
         int[] sum = {0};
         
         for (ArgumentType<?, ?> argumentType : argumentTypes) {
-            Long2ObjectMap<Object> cacheMap = getSearchCache(argumentType);
+            Data cacheMap = getSearchCache(argumentType);
             CurrentStep.Step currentStage = currentStep.steps[currentStep.step] = new CurrentStep.Step(0, prepareStacks.size());
             currentStep.step++;
             
@@ -125,12 +169,13 @@ public class ArgumentCache {
             e.printStackTrace();
         } catch (InterruptedException ignore) {
         } finally {
-            InternalLogger.getInstance().log(ConfigObject.getInstance().doDebugSearchTimeRequired() ? Level.INFO : Level.TRACE, "Prepared " + sum[0] + " / " + (prepareStacks.size() * argumentTypes.size()) + " stacks for search arguments in " + (Util.getEpochMillis() - prepareStart) + "ms");
+            InternalLogger.getInstance().log(ConfigObject.getInstance().doDebugSearchTimeRequired() ? Level.INFO : Level.TRACE, "Prepared " + sum[0] + " / " + (prepareStacks.size() * argumentTypes.size()) + " stacks for search arguments in " + (Util.getEpochMillis() - progress.start()) + "ms");
+            TooltipQuarantine.report();
         }
     }
     
-    private static Long2ObjectMap<Object> cacheStacks(ArgumentType<?, ?> argumentType, Long2ObjectMap<Object> cacheMap,
-            Collection<HashedEntryStackWrapper> stacks) {
+    static Long2ObjectMap<Object> cacheStacks(ArgumentType<?, ?> argumentType, Data cacheMap,
+            Collection<? extends HashedEntryStackWrapper> stacks) {
         Long2ObjectMap<Object> out = new Long2ObjectArrayMap<>(stacks.size() + 1);
         for (HashedEntryStackWrapper stack : stacks) {
             if (cacheMap.get(stack.hashExact()) == null) {
@@ -144,12 +189,86 @@ public class ArgumentCache {
         return out;
     }
     
+    /**
+     * Starts warming the cache in the background, replacing any previous warming.
+     */
+    public void warm(List<HashedEntryStackWrapper> stacks, List<ArgumentType<?, ?>> argumentTypes) {
+        ArgumentCacheWarmer previous = this.warmer;
+        if (previous != null) previous.cancel();
+        ArgumentCacheWarmer warmer = this.warmer = new ArgumentCacheWarmer(this, stacks, argumentTypes);
+        warmer.start();
+    }
+    
+    /**
+     * Moves the stacks to the front of the warming queue, the stacks are warmed in the given order.
+     * This does nothing if the cache has not started warming.
+     */
+    public void prioritize(List<? extends HashedEntryStackWrapper> stacks) {
+        ArgumentCacheWarmer warmer = this.warmer;
+        if (warmer != null) warmer.prioritize(stacks);
+    }
+    
+    public void cancelWarming() {
+        ArgumentCacheWarmer warmer = this.warmer;
+        if (warmer != null) warmer.cancel();
+    }
+    
     public boolean isEmpty() {
-        return cache.isEmpty();
+        for (Data data : this.data) {
+            if (data != null) return false;
+        }
+        return true;
+    }
+    
+    /**
+     * The cached search data of a single argument type.
+     */
+    public static class Data {
+        private final Long2IntMap index;
+        private final AtomicReferenceArray<Object> dense;
+        private final Long2ObjectMap<Object> fallback = Long2ObjectMaps.synchronize(new Long2ObjectOpenHashMap<>());
+        
+        private Data(Long2IntMap index, int size) {
+            this.index = index;
+            this.dense = new AtomicReferenceArray<>(size);
+        }
+        
+        @Nullable
+        public Object get(long hashExact) {
+            int slot = index.get(hashExact);
+            return slot >= 0 ? dense.get(slot) : fallback.get(hashExact);
+        }
+        
+        public boolean containsKey(long hashExact) {
+            return get(hashExact) != null;
+        }
+        
+        public void put(long hashExact, Object value) {
+            int slot = index.get(hashExact);
+            if (slot >= 0) {
+                dense.set(slot, value);
+            } else {
+                fallback.put(hashExact, value);
+            }
+        }
+        
+        public void putAll(Long2ObjectMap<Object> map) {
+            for (Long2ObjectMap.Entry<Object> entry : Long2ObjectMaps.fastIterable(map)) {
+                put(entry.getLongKey(), entry.getValue());
+            }
+        }
+    }
+    
+    /**
+     * @param start the time the preparation started, in epoch milliseconds
+     * @param stacks the stacks being prepared
+     * @param step the progress through the argument types
+     */
+    public record Progress(long start, List<HashedEntryStackWrapper> stacks, CurrentStep step) {
     }
     
     public static class CurrentStep {
-        public int step;
+        public volatile int step;
         public final int totalSteps;
         public final Step[] steps;
         
@@ -160,7 +279,7 @@ public class ArgumentCache {
         }
         
         public static class Step {
-            public int stacks;
+            public volatile int stacks;
             public int totalStacks;
             
             public Step(int stacks, int totalStacks) {
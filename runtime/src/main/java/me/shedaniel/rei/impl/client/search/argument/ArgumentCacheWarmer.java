@@ -0,0 +1,201 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022, 2023 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl.client.search.argument;
+
+import com.google.common.collect.Lists;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import me.shedaniel.rei.api.client.config.ConfigObject;
+import me.shedaniel.rei.api.common.util.CollectionUtils;
+import me.shedaniel.rei.impl.client.search.argument.type.ArgumentType;
+import me.shedaniel.rei.impl.client.util.ThreadCreator;
+import me.shedaniel.rei.impl.common.InternalLogger;
+import me.shedaniel.rei.impl.common.util.HashedEntryStackWrapper;
+import net.minecraft.Util;
+import org.apache.logging.log4j.Level;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Warms the {@link ArgumentCache} in the background, one partition at a time.
+ * <p>
+ * Prioritized stacks (e.g. the current search results, in display order) are cached for every
+ * argument type before the rest of the registry, which is cached argument type by argument type.
+ * The warmer pauses while the user is typing, and keeps its position so that it can resume
+ * after being interrupted or when more stacks are queued.
+ */
+public class ArgumentCacheWarmer {
+    private static final ExecutorService COORDINATOR = new ThreadCreator("REI-CacheWarmer").asService(1);
+    private static final long TYPING_PAUSE = 400;
+    private static volatile long lastTyped = 0;
+    private final ArgumentCache cache;
+    private final List<HashedEntryStackWrapper> stacks;
+    private final List<ArgumentType<?, ?>> argumentTypes;
+    private final Deque<List<? extends HashedEntryStackWrapper>> prioritized = new ConcurrentLinkedDeque<>();
+    private final ArgumentCache.CurrentStep currentStep;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private volatile boolean cancelled = false;
+    // written by the coordinator thread only, read by isDone from any thread
+    private volatile int argumentIndex = 0;
+    private volatile int cursor = 0;
+    private long start;
+    private int cached;
+    
+    public ArgumentCacheWarmer(ArgumentCache cache, List<HashedEntryStackWrapper> stacks, List<ArgumentType<?, ?>> argumentTypes) {
+        this.cache = cache;
+        this.stacks = stacks;
+        this.argumentTypes = List.copyOf(argumentTypes);
+        this.currentStep = new ArgumentCache.CurrentStep(0, this.argumentTypes.size());
+        for (int i = 0; i < this.argumentTypes.size(); i++) {
+            this.currentStep.steps[i] = new ArgumentCache.CurrentStep.Step(0, stacks.size());
+        }
+    }
+    
+    /**
+     * Notifies the warmers that the user is typing, pausing them for a short while
+     * so that the search threads are not competing with them.
+     */
+    public static void notifyTyping() {
+        lastTyped = Util.getMillis();
+    }
+    
+    public void prioritize(List<? extends HashedEntryStackWrapper> stacks) {
+        if (cancelled || stacks.isEmpty()) return;
+        this.prioritized.addFirst(stacks);
+        this.start();
+    }
+    
+    public void cancel() {
+        this.cancelled = true;
+        this.prioritized.clear();
+    }
+    
+    public boolean isDone() {
+        return argumentIndex >= argumentTypes.size() && prioritized.isEmpty();
+    }
+    
+    public void start() {
+        if (cancelled || isDone() || !running.compareAndSet(false, true)) return;
+        if (argumentIndex < argumentTypes.size() && cache.progress == null) {
+            this.start = Util.getEpochMillis();
+            cache.progress = new ArgumentCache.Progress(this.start, stacks, currentStep);
+            InternalLogger.getInstance().log(ConfigObject.getInstance().doDebugSearchTimeRequired() ? Level.INFO : Level.TRACE, "Warming " + (stacks.size() * argumentTypes.size()) + " stacks for search arguments");
+        }
+        CompletableFuture.runAsync(this::run, COORDINATOR)
+                .whenComplete(($, throwable) -> {
+                    running.set(false);
+                    if (throwable != null) {
+                        InternalLogger.getInstance().error("Failed to warm search argument cache", throwable);
+                    } else if (!cancelled && !isDone()) {
+                        // more stacks were prioritized after the loop has finished
+                        start();
+                    }
+                });
+    }
+    
+    private void run() {
+        int partitionSize = Math.max(1, ConfigObject.getInstance().getAsyncSearchPartitionSize());
+        int batchSize = partitionSize * 4;
+        
+        while (!cancelled) {
+            if (Util.getMillis() - lastTyped < TYPING_PAUSE) {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                continue;
+            }
+            
+            List<? extends HashedEntryStackWrapper> batch = prioritized.pollFirst();
+            if (batch != null) {
+                if (batch.size() > batchSize) {
+                    prioritized.addFirst(batch.subList(batchSize, batch.size()));
+                    batch = batch.subList(0, batchSize);
+                }
+                for (ArgumentType<?, ?> argumentType : argumentTypes) {
+                    cache(argumentType, batch, partitionSize, null);
+                }
+                continue;
+            }
+            
+            if (argumentIndex >= argumentTypes.size()) break;
+            int end = Math.min(cursor + batchSize, stacks.size());
+            currentStep.step = argumentIndex + 1;
+            cache(argumentTypes.get(argumentIndex), stacks.subList(cursor, end), partitionSize, currentStep.steps[argumentIndex]);
+            cursor = end;
+            if (cursor >= stacks.size()) {
+                cursor = 0;
+                argumentIndex++;
+                if (argumentIndex >= argumentTypes.size()) {
+                    finish();
+                }
+            }
+        }
+    }
+    
+    private void cache(ArgumentType<?, ?> argumentType, List<? extends HashedEntryStackWrapper> stacks, int partitionSize,
+            @Nullable ArgumentCache.CurrentStep.Step step) {
+        ArgumentCache.Data cacheMap = cache.getSearchCache(argumentType);
+        List<CompletableFuture<Long2ObjectMap<Object>>> futures = Lists.newArrayList();
+        for (Collection<? extends HashedEntryStackWrapper> partitionStacks : CollectionUtils.partition(stacks, partitionSize)) {
+            futures.add(CompletableFuture.supplyAsync(() -> ArgumentCache.cacheStacks(argumentType, cacheMap, partitionStacks),
+                    ArgumentCache.EXECUTOR_SERVICE));
+        }
+        
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(90, TimeUnit.SECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            InternalLogger.getInstance().warn("Failed to warm search argument cache for " + argumentType.getName(), e);
+        } catch (InterruptedException e) {
+            cancelled = true;
+            return;
+        }
+        
+        for (CompletableFuture<Long2ObjectMap<Object>> future : futures) {
+            Long2ObjectMap<Object> map = future.getNow(null);
+            if (map != null) {
+                cacheMap.putAll(map);
+                cached += map.size();
+            }
+        }
+        
+        if (step != null) {
+            step.stacks += stacks.size();
+        }
+    }
+    
+    private void finish() {
+        InternalLogger.getInstance().log(ConfigObject.getInstance().doDebugSearchTimeRequired() ? Level.INFO : Level.TRACE, "Warmed " + cached + " / " + (stacks.size() * argumentTypes.size()) + " stacks for search arguments in " + (Util.getEpochMillis() - start) + "ms");
+        TooltipQuarantine.report();
+        ArgumentCache.Progress progress = cache.progress;
+        if (progress != null && progress.step() == currentStep) {
+            cache.progress = null;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022, 2023 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl.client.search.argument;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import me.shedaniel.rei.api.client.gui.config.SearchMode;
+import me.shedaniel.rei.api.common.util.CollectionUtils;
+import me.shedaniel.rei.impl.client.search.IntRange;
+import me.shedaniel.rei.impl.client.search.argument.type.ArgumentType;
+import me.shedaniel.rei.impl.client.search.argument.type.ArgumentTypesRegistry;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * A search query compiled into a reusable plan, shared between the search filters and the syntax highlighter.
+ * <p>
+ * The terms of each alternative are ordered by their estimated cost and selectivity,
+ * so cheap and selective terms reject entries before expensive terms are evaluated.
+ */
+@ApiStatus.Internal
+public final class CompiledQuery {
+    private static final Cache<Key, CompiledQuery> CACHE = CacheBuilder.newBuilder()
+            .maximumSize(64)
+            .build();
+    private final String filter;
+    private final List<CompoundArgument> arguments;
+    private final List<ArgumentType<?, ?>> argumentTypes;
+    private final List<ArgumentType<?, ?>> leadingArgumentTypes;
+    private final List<Consumer<Argument.ProcessedSink>> events = new ArrayList<>();
+    
+    private CompiledQuery(String filter) {
+        this.filter = filter;
+        List<CompoundArgument> arguments = Argument.bakeArguments(filter, new Argument.ProcessedSink() {
+            @Override
+            public void addQuote(int index) {
+                events.add(sink -> sink.addQuote(index));
+            }
+            
+            @Override
+            public void addSplitter(int index) {
+                events.add(sink -> sink.addSplitter(index));
+            }
+            
+            @Override
+            public void addPart(Argument.Builder<?, ?> argument, boolean usingGrammar, Collection<IntRange> grammarRanges, int index) {
+                events.add(sink -> sink.addPart(argument, usingGrammar, grammarRanges, index));
+            }
+        });
+        this.arguments = CollectionUtils.map(arguments, CompiledQuery::order);
+        this.argumentTypes = this.arguments.stream()
+                .flatMap(CompoundArgument::stream)
+                .flatMap(AlternativeArgument::stream)
+                .<ArgumentType<?, ?>>map(Argument::getArgument)
+                .distinct()
+                .toList();
+        this.leadingArgumentTypes = this.arguments.stream()
+                .filter(compound -> !compound.isEmpty())
+                .flatMap(compound -> compound.get(0).stream())
+                .<ArgumentType<?, ?>>map(Argument::getArgument)
+                .distinct()
+                .toList();
+    }
+    
+    public static CompiledQuery compile(String filter) {
+        Key key = new Key(filter, CollectionUtils.map(ArgumentTypesRegistry.ARGUMENT_TYPE_LIST, ArgumentType::getSearchMode));
+        CompiledQuery query = CACHE.getIfPresent(key);
+        if (query == null) {
+            query = new CompiledQuery(filter);
+            CACHE.put(key, query);
+        }
+        return query;
+    }
+    
+    public String getFilter() {
+        return filter;
+    }
+    
+    public List<CompoundArgument> getArguments() {
+        return arguments;
+    }
+    
+    /**
+     * Returns every argument type used by this query.
+     */
+    public List<ArgumentType<?, ?>> getArgumentTypes() {
+        return argumentTypes;
+    }
+    
+    /**
+     * Returns the argument types evaluated for every entry, the other argument types
+     * are only evaluated for entries that were not rejected by the leading terms.
+     */
+    public List<ArgumentType<?, ?>> getLeadingArgumentTypes() {
+        return leadingArgumentTypes;
+    }
+    
+    /**
+     * Replays the parsing of this query to the sink, in the order it was parsed.
+     */
+    public void replay(Argument.ProcessedSink sink) {
+        for (Consumer<Argument.ProcessedSink> event : events) {
+            event.accept(sink);
+        }
+    }
+    
+    private static CompoundArgument order(CompoundArgument compound) {
+        if (compound.isAlways() || compound.size() <= 1 && compound.get(0).size() <= 1) return compound;
+        AlternativeArgument[] alternatives = new AlternativeArgument[compound.size()];
+        for (int i = 0; i < alternatives.length; i++) {
+            AlternativeArgument alternative = compound.get(i);
+            if (alternative.size() > 1) {
+                // Any matching argument accepts the entry, try the cheap and likely matching ones first
+                List<Argument<?, ?>> ordered = new ArrayList<>(alternative);
+                ordered.sort(Comparator.comparingDouble(argument -> cost(argument) / Math.max(0.01, selectivity(argument))));
+                alternative = new AlternativeArgument(ordered);
+            }
+            alternatives[i] = alternative;
+        }
+        // Every alternative has to match, try the cheap and selective ones first
+        Arrays.sort(alternatives, Comparator.comparingDouble(alternative -> cost(alternative) / Math.max(0.01, 1 - selectivity(alternative))));
+        return CompoundArgument.of(alternatives);
+    }
+    
+    private static double cost(AlternativeArgument alternative) {
+        double cost = 0;
+        for (Argument<?, ?> argument : alternative) {
+            cost += cost(argument);
+        }
+        return cost;
+    }
+    
+    private static double selectivity(AlternativeArgument alternative) {
+        double selectivity = 0;
+        for (Argument<?, ?> argument : alternative) {
+            selectivity += selectivity(argument);
+        }
+        return Math.min(1, selectivity);
+    }
+    
+    private static double cost(Argument<?, ?> argument) {
+        return argument.getArgument().getEvaluationCost();
+    }
+    
+    /**
+     * Estimates the fraction of entries matching the argument, longer terms match fewer entries.
+     */
+    private static double selectivity(Argument<?, ?> argument) {
+        String text = argument.getText();
+        double selectivity = text.isEmpty() ? 1 : Math.max(0.02, 1.0 / (1 + text.length()));
+        return argument.isRegular() ? selectivity : 1 - selectivity;
+    }
+    
+    private record Key(String filter, List<SearchMode> searchModes) {
+    }
+}
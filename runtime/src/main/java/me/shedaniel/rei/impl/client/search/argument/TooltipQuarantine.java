@@ -0,0 +1,149 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022, 2023 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl.client.search.argument;
+
+import me.shedaniel.rei.impl.common.InternalLogger;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.world.item.Item;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Quarantines items whose names or tooltips throw, or repeatedly take longer than {@link #BUDGET_NANOS}
+ * to extract for search.
+ * <p>
+ * Quarantined items fall back to their translation key names, so that a single misbehaving tooltip
+ * cannot stall every search cache thread. Items that throw are quarantined for every caller, while slow items
+ * are only skipped by search, so rendered tooltips stay complete. The quarantine lasts until the next reload.
+ * This set is shared between the search, cache and render threads.
+ */
+@ApiStatus.Internal
+public final class TooltipQuarantine {
+    public static final long BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final int MAX_OVERRUNS = 3;
+    private static final int WORST_OFFENDERS = 5;
+    private static final Set<Item> FAILED = ConcurrentHashMap.newKeySet();
+    private static final Set<Item> SLOW = ConcurrentHashMap.newKeySet();
+    private static final Map<Item, Integer> OVERRUNS = new ConcurrentHashMap<>();
+    private static final Map<Item, Long> SLOWEST = new ConcurrentHashMap<>();
+    private static final AtomicInteger TIMEOUTS = new AtomicInteger();
+    private static final AtomicInteger FAILURES = new AtomicInteger();
+    private static final AtomicInteger FALLBACKS = new AtomicInteger();
+    private static final AtomicInteger UNREPORTED = new AtomicInteger();
+    
+    private TooltipQuarantine() {}
+    
+    public static boolean isQuarantined(Item item) {
+        return FAILED.contains(item) || SLOW.contains(item);
+    }
+    
+    /**
+     * Forgets every quarantined item, as the tooltips may behave differently after a reload.
+     */
+    public static void clear() {
+        FAILED.clear();
+        SLOW.clear();
+        OVERRUNS.clear();
+        SLOWEST.clear();
+        TIMEOUTS.set(0);
+        FAILURES.set(0);
+        FALLBACKS.set(0);
+        UNREPORTED.set(0);
+    }
+    
+    /**
+     * Extracts a value of the item, or returns {@code null} if the item is quarantined,
+     * or has been quarantined by this extraction throwing.
+     * <p>
+     * Extraction is never interrupted, only extractions for search are timed, and an item is
+     * only quarantined from search after exceeding the budget {@value #MAX_OVERRUNS} times.
+     * The result of a slow extraction is still used.
+     *
+     * @param search whether the value is extracted for search, which also rethrows transient
+     *               {@link ConcurrentModificationException}s, so that the caller may retry instead of quarantining the item
+     */
+    public static <T> T extract(Item item, Supplier<T> extractor, boolean search) {
+        if (FAILED.contains(item) || (search && SLOW.contains(item))) {
+            FALLBACKS.incrementAndGet();
+            return null;
+        }
+        long start = search ? System.nanoTime() : 0;
+        T value;
+        try {
+            value = extractor.get();
+        } catch (Throwable throwable) {
+            if (search && isTransient(throwable)) throw throwable;
+            FAILURES.incrementAndGet();
+            if (FAILED.add(item)) {
+                UNREPORTED.incrementAndGet();
+                InternalLogger.getInstance().warn("Quarantined " + BuiltInRegistries.ITEM.getKey(item) + " from tooltip extraction after it threw", throwable);
+            }
+            return null;
+        }
+        if (search) {
+            long elapsed = System.nanoTime() - start;
+            if (elapsed > BUDGET_NANOS) {
+                SLOWEST.merge(item, elapsed, Math::max);
+                if (OVERRUNS.merge(item, 1, Integer::sum) >= MAX_OVERRUNS && SLOW.add(item)) {
+                    TIMEOUTS.incrementAndGet();
+                    UNREPORTED.incrementAndGet();
+                }
+            }
+        }
+        return value;
+    }
+    
+    private static boolean isTransient(Throwable throwable) {
+        for (Throwable temp = throwable; temp != null; temp = temp.getCause()) {
+            if (temp instanceof ConcurrentModificationException) {
+                return true;
+            }
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Logs the counters and the slowest offenders, if any item has been quarantined since the last report.
+     */
+    public static void report() {
+        if (UNREPORTED.getAndSet(0) == 0) return;
+        String worst = SLOWEST.entrySet().stream()
+                .sorted(Map.Entry.<Item, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(WORST_OFFENDERS)
+                .map(entry -> BuiltInRegistries.ITEM.getKey(entry.getKey()) + " (" + TimeUnit.NANOSECONDS.toMillis(entry.getValue()) + "ms)")
+                .collect(Collectors.joining(", "));
+        InternalLogger.getInstance().warn("%d items are quarantined from tooltip extraction (%d repeatedly over the %dms search budget, %d failures, %d fallbacks), slowest: %s",
+                FAILED.size() + SLOW.size(), TIMEOUTS.get(), TimeUnit.NANOSECONDS.toMillis(BUDGET_NANOS), FAILURES.get(), FALLBACKS.get(), worst.isEmpty() ? "none" : worst);
+    }
+}
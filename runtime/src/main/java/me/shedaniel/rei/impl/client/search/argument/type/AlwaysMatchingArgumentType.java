@@ -38,6 +38,11 @@ public final class AlwaysMatchingArgumentType extends ArgumentType<Unit, Unit> {
         return "always";
     }
     
+    @Override
+    public int getEvaluationCost() {
+        return 0;
+    }
+    
     @Override
     public Unit cacheData(EntryStack<?> stack) {
         return null;
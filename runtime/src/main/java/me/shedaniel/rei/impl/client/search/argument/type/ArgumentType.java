@@ -82,6 +82,14 @@ public abstract class ArgumentType<T, R> {
         return ArgumentApplicableResult.notApplicable();
     }
     
+    /**
+     * Returns the relative cost of evaluating this argument type on an entry that is not cached yet,
+     * used to order the terms of a query.
+     */
+    public int getEvaluationCost() {
+        return 4;
+    }
+    
     public abstract R cacheData(EntryStack<?> stack);
     
     public abstract T prepareSearchFilter(String searchText);
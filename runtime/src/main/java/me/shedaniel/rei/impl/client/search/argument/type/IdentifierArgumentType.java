@@ -46,6 +46,11 @@ public final class IdentifierArgumentType extends ArgumentType<Unit, String> {
         return "identifier";
     }
     
+    @Override
+    public int getEvaluationCost() {
+        return 1;
+    }
+    
     @Override
     @Nullable
     public String getPrefix() {
@@ -48,6 +48,11 @@ public final class ModArgumentType extends ArgumentType<Unit, ModArgumentType.@N
         return "mod";
     }
     
+    @Override
+    public int getEvaluationCost() {
+        return 1;
+    }
+    
     @Override
     @Nullable
     public String getPrefix() {
@@ -53,6 +53,11 @@ public final class RegexArgumentType extends ArgumentType<@Nullable Pattern, Str
         return "regex";
     }
     
+    @Override
+    public int getEvaluationCost() {
+        return 6;
+    }
+    
     @Override
     public ArgumentApplicableResult checkApplicable(String text, boolean forceGrammar) {
         boolean inverted = false;
@@ -49,6 +49,11 @@ public final class TagArgumentType extends ArgumentType<Unit, String[]> {
         return "tag";
     }
     
+    @Override
+    public int getEvaluationCost() {
+        return 2;
+    }
+    
     @Override
     @Nullable
     public String getPrefix() {
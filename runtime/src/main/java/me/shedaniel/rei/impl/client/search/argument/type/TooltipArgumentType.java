@@ -55,6 +55,11 @@ public final class TooltipArgumentType extends ArgumentType<Unit, String> {
         return "tooltip";
     }
     
+    @Override
+    public int getEvaluationCost() {
+        return 8;
+    }
+    
     @Override
     @Nullable
     public String getPrefix() {
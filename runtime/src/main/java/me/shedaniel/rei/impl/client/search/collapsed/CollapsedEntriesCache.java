@@ -23,22 +23,31 @@
 
 package me.shedaniel.rei.impl.client.search.collapsed;
 
-import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
-import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
 import me.shedaniel.rei.api.client.registry.entry.CollapsibleEntryRegistry;
 import me.shedaniel.rei.impl.common.InternalLogger;
 import me.shedaniel.rei.impl.common.entry.type.collapsed.CollapsibleEntryRegistryImpl;
 import me.shedaniel.rei.impl.common.util.HashedEntryStackWrapper;
-import net.minecraft.resources.ResourceLocation;
-import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.List;
+import java.util.stream.IntStream;
 
+/**
+ * Index of the cacheable collapsible groups each stack belongs to.
+ * <p>
+ * Every cacheable group is assigned a small int id, stacks are indexed by their position in the
+ * prepared list, mapping to the sorted ids of the groups they belong to, and each group keeps
+ * a bitmap of the positions of its members.
+ */
 public class CollapsedEntriesCache {
+    private static final int[] EMPTY = new int[0];
     private static CollapsedEntriesCache instance = new CollapsedEntriesCache();
-    private final Long2ObjectMap<Set<ResourceLocation>> cache = new Long2ObjectOpenHashMap<>();
+    private volatile Index index = new Index(new CollapsibleEntryRegistryImpl.Entry[0], createPositionsMap(), new int[0][], new BitSet[0]);
     
     public static void reset() {
         CollapsedEntriesCache.instance = new CollapsedEntriesCache();
@@ -48,34 +57,93 @@ public class CollapsedEntriesCache {
         return instance;
     }
     
-    public void prepare(Collection<? extends HashedEntryStackWrapper> stacks) {
-        Collection<CollapsibleEntryRegistryImpl.Entry> entries = ((CollapsibleEntryRegistryImpl) CollapsibleEntryRegistry.getInstance()).getEntries();
-        InternalLogger.getInstance().debug("Preparing collapsed entry groups cache with %d entries and %d stacks", entries.size(), stacks.size());
-        
+    public void prepare(List<? extends HashedEntryStackWrapper> stacks) {
+        prepare(stacks, ((CollapsibleEntryRegistryImpl) CollapsibleEntryRegistry.getInstance()).getEntries());
+    }
+    
+    public void prepare(List<? extends HashedEntryStackWrapper> stacks, Collection<CollapsibleEntryRegistryImpl.Entry> entries) {
+        List<CollapsibleEntryRegistryImpl.Entry> cacheable = new ArrayList<>();
         for (CollapsibleEntryRegistryImpl.Entry entry : entries) {
             if (entry.canCache()) {
-                for (HashedEntryStackWrapper stack : stacks) {
-                    if (entry.getMatcher().matches(stack.unwrap(), stack.hashExact())) {
-                        cache.computeIfAbsent(stack.hashExact(), $ -> new HashSet<>())
-                                .add(entry.getId());
-                    } else {
-                        Set<ResourceLocation> locations = cache.get(stack.hashExact());
-                        if (locations != null) {
-                            locations.remove(entry.getId());
-                            if (locations.isEmpty()) {
-                                cache.remove(stack.hashExact());
-                            }
-                        }
-                    }
+                cacheable.add(entry);
+            }
+        }
+        InternalLogger.getInstance().debug("Preparing collapsed entry groups cache with %d entries and %d stacks", cacheable.size(), stacks.size());
+        
+        CollapsibleEntryRegistryImpl.Entry[] groups = cacheable.toArray(new CollapsibleEntryRegistryImpl.Entry[0]);
+        int[][] groupsByPosition = new int[stacks.size()][];
+        IntStream.range(0, stacks.size()).parallel().forEach(position -> {
+            HashedEntryStackWrapper stack = stacks.get(position);
+            IntArrayList matched = null;
+            for (int id = 0; id < groups.length; id++) {
+                if (groups[id].getMatcher().matches(stack.unwrap(), stack.hashExact())) {
+                    if (matched == null) matched = new IntArrayList(2);
+                    matched.add(id);
                 }
             }
+            groupsByPosition[position] = matched == null ? EMPTY : matched.toIntArray();
+        });
+        
+        Long2IntMap positions = createPositionsMap();
+        BitSet[] positionsByGroup = new BitSet[groups.length];
+        for (int id = 0; id < groups.length; id++) {
+            positionsByGroup[id] = new BitSet();
         }
+        for (int position = 0; position < groupsByPosition.length; position++) {
+            int[] ids = groupsByPosition[position];
+            if (ids.length == 0) continue;
+            positions.put(stacks.get(position).hashExact(), position);
+            for (int id : ids) {
+                positionsByGroup[id].set(position);
+            }
+        }
+        this.index = new Index(groups, positions, groupsByPosition, positionsByGroup);
         
-        InternalLogger.getInstance().debug("Prepared collapsed entry groups cache with %d entries and %d stacks", entries.size(), stacks.size());
+        InternalLogger.getInstance().debug("Prepared collapsed entry groups cache with %d entries and %d stacks", groups.length, stacks.size());
     }
     
-    @Nullable
-    public Set<ResourceLocation> getEntries(long hash) {
-        return cache.get(hash);
+    private static Long2IntMap createPositionsMap() {
+        Long2IntMap positions = new Long2IntOpenHashMap();
+        positions.defaultReturnValue(-1);
+        return positions;
+    }
+    
+    /**
+     * Returns the current index, which is replaced as a whole once preparation completes.
+     */
+    public Index getIndex() {
+        return index;
+    }
+    
+    public record Index(CollapsibleEntryRegistryImpl.Entry[] groups,
+                        Long2IntMap positions,
+                        int[][] groupsByPosition,
+                        BitSet[] positionsByGroup) {
+        public int getGroupCount() {
+            return groups.length;
+        }
+        
+        public CollapsibleEntryRegistryImpl.Entry getGroup(int id) {
+            return groups[id];
+        }
+        
+        /**
+         * Returns the ids of the cacheable groups the stack belongs to, in ascending order.
+         *
+         * @param hash the exact hash of the stack
+         * @return the group ids, or an empty array
+         */
+        public int[] getGroupIds(long hash) {
+            int position = positions.get(hash);
+            return position == -1 ? EMPTY : groupsByPosition[position];
+        }
+        
+        /**
+         * Returns the positions of the members of the group in the prepared list,
+         * the returned bitmap must not be modified.
+         */
+        public BitSet getPositions(int id) {
+            return positionsByGroup[id];
+        }
     }
 }
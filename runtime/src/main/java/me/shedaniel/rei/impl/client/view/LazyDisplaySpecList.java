@@ -0,0 +1,182 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022, 2023 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl.client.view;
+
+import it.unimi.dsi.fastutil.ints.Int2LongLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2LongMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import me.shedaniel.rei.api.common.display.Display;
+import me.shedaniel.rei.api.common.display.DisplayMerger;
+import me.shedaniel.rei.impl.display.DisplaySpec;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.ToIntFunction;
+
+/**
+ * A list of merged {@link DisplaySpec} that is only materialized up to the highest index requested,
+ * so categories that are never opened in the recipe screen never pay for it, and opened ones only
+ * evaluate auto-crafting for the displays needed to fill the pages shown.
+ * <p>
+ * Displays are ordered by tier in chunks of {@value #CHUNK_SIZE}, walking the displays in their original order.
+ * Within a chunk, groups are emitted by the best tier of their displays in the chunk, which also picks the
+ * representative of the group, so requesting a page evaluates a bounded number of displays.
+ * Grouping only hashes the displays and is done on the first access, so {@link #size()} is exact without
+ * evaluating anything.
+ * <p>
+ * {@link #getDisplays()} and {@link #estimateSize()} are available without grouping the list.
+ */
+@ApiStatus.Internal
+public class LazyDisplaySpecList extends AbstractList<DisplaySpec> {
+    public static final int CHUNK_SIZE = 64;
+    private final Collection<Display> displays;
+    private final DisplayMerger<Display> merger;
+    @Nullable
+    private final ToIntFunction<Display> tiering;
+    private final List<DisplaySpec> materialized = new ArrayList<>();
+    private List<Display> ordered;
+    private int[] groupOf;
+    private List<IntList> groups;
+    private boolean[] emitted;
+    private int cursor;
+    
+    /**
+     * @param tiering ranks a display, lower ranks come first within a chunk,
+     *                or {@code null} to keep the displays in their original order
+     */
+    public LazyDisplaySpecList(Collection<Display> displays, DisplayMerger<Display> merger, @Nullable ToIntFunction<Display> tiering) {
+        this.displays = displays;
+        this.merger = merger;
+        this.tiering = tiering;
+    }
+    
+    /**
+     * Returns the size of the given list, or an upper bound of it if it has not been grouped yet.
+     */
+    public static int estimateSize(List<DisplaySpec> list) {
+        if (list instanceof LazyDisplaySpecList lazy) {
+            return lazy.estimateSize();
+        }
+        return list.size();
+    }
+    
+    public synchronized int estimateSize() {
+        return groups != null ? groups.size() : displays.size();
+    }
+    
+    /**
+     * Returns the unmerged and unordered displays of this list.
+     */
+    public Collection<Display> getDisplays() {
+        return displays;
+    }
+    
+    private void group() {
+        if (groups != null) return;
+        List<Display> ordered = new ArrayList<>(displays);
+        Object2IntMap<ViewsImpl.WrappedDisplaySpec> indices = new Object2IntOpenHashMap<>();
+        indices.defaultReturnValue(-1);
+        List<IntList> groups = new ArrayList<>();
+        int[] groupOf = new int[ordered.size()];
+        
+        for (int i = 0; i < ordered.size(); i++) {
+            ViewsImpl.WrappedDisplaySpec key = new ViewsImpl.WrappedDisplaySpec(merger, ordered.get(i));
+            int group = indices.getInt(key);
+            if (group == -1) {
+                group = groups.size();
+                indices.put(key, group);
+                groups.add(new IntArrayList(1));
+            }
+            groups.get(group).add(i);
+            groupOf[i] = group;
+        }
+        
+        this.ordered = ordered;
+        this.groupOf = groupOf;
+        this.emitted = new boolean[groups.size()];
+        this.groups = groups;
+    }
+    
+    /**
+     * Takes the next chunk of displays whose group has not been emitted yet, and emits their groups ordered
+     * by the best tier and then the first display of each group in the chunk.
+     */
+    private void materialize(int count) {
+        group();
+        while (materialized.size() < count && cursor < ordered.size()) {
+            // group -> the best (tier, index) of the group in this chunk, as tier << 32 | index
+            Int2LongMap best = new Int2LongLinkedOpenHashMap();
+            int taken = 0;
+            while (taken < CHUNK_SIZE && cursor < ordered.size()) {
+                int index = cursor++;
+                int group = groupOf[index];
+                if (emitted[group]) continue;
+                taken++;
+                long rank = (long) (tiering == null ? 0 : tiering.applyAsInt(ordered.get(index))) << 32 | index;
+                if (!best.containsKey(group) || rank < best.get(group)) {
+                    best.put(group, rank);
+                }
+            }
+            
+            List<Int2LongMap.Entry> entries = new ArrayList<>(best.int2LongEntrySet());
+            entries.sort(Comparator.comparingLong(Int2LongMap.Entry::getLongValue));
+            for (Int2LongMap.Entry entry : entries) {
+                emitted[entry.getIntKey()] = true;
+                materialized.add(createSpec(groups.get(entry.getIntKey()), (int) entry.getLongValue()));
+            }
+        }
+    }
+    
+    private DisplaySpec createSpec(IntList members, int representative) {
+        ViewsImpl.WrappedDisplaySpec spec = new ViewsImpl.WrappedDisplaySpec(merger, ordered.get(representative));
+        for (int i = 0; i < members.size(); i++) {
+            int index = members.getInt(i);
+            if (index != representative) {
+                spec.add(ordered.get(index));
+            }
+        }
+        return spec;
+    }
+    
+    @Override
+    public synchronized DisplaySpec get(int index) {
+        materialize(index + 1);
+        return materialized.get(index);
+    }
+    
+    @Override
+    public synchronized int size() {
+        group();
+        return groups.size();
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        return displays.isEmpty();
+    }
+}
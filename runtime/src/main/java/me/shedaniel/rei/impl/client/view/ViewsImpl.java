@@ -30,6 +30,7 @@ import com.google.common.collect.Maps;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import me.shedaniel.rei.api.client.REIRuntime;
 import me.shedaniel.rei.api.client.config.ConfigObject;
 import me.shedaniel.rei.api.client.registry.category.CategoryRegistry;
 import me.shedaniel.rei.api.client.registry.display.DisplayCategory;
@@ -44,12 +45,13 @@ import me.shedaniel.rei.api.common.entry.EntryIngredient;
 import me.shedaniel.rei.api.common.entry.EntryStack;
 import me.shedaniel.rei.api.common.plugins.PluginManager;
 import me.shedaniel.rei.api.common.util.CollectionUtils;
-import me.shedaniel.rei.api.common.util.EntryIngredients;
 import me.shedaniel.rei.api.common.util.EntryStacks;
 import me.shedaniel.rei.impl.client.gui.craftable.CraftableFilterCalculator;
 import me.shedaniel.rei.impl.client.gui.widget.AutoCraftingEvaluator;
+import me.shedaniel.rei.impl.client.registry.category.CategoryRegistryImpl;
 import me.shedaniel.rei.impl.client.registry.display.DisplayRegistryImpl;
 import me.shedaniel.rei.impl.client.registry.display.DisplaysHolder;
+import me.shedaniel.rei.impl.client.registry.display.DynamicDisplayGeneratorCache;
 import me.shedaniel.rei.impl.client.util.CrashReportUtils;
 import me.shedaniel.rei.impl.common.InternalLogger;
 import me.shedaniel.rei.impl.common.util.HashedEntryStackWrapper;
@@ -64,6 +66,7 @@ import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 
 @ApiStatus.Internal
 public class ViewsImpl implements Views {
@@ -148,7 +151,7 @@ public class ViewsImpl implements Views {
             generatorsCount += entry.getValue().size();
             
             for (DynamicDisplayGenerator<Display> generator : (List<DynamicDisplayGenerator<Display>>) (List<? extends DynamicDisplayGenerator<?>>) entry.getValue()) {
-                generateLiveDisplays(displayRegistry, wrapForError(generator), builder, set::add);
+                generateLiveDisplays(displayRegistry, generator, builder, set::add);
             }
             
             if (!set.isEmpty()) {
@@ -163,7 +166,7 @@ public class ViewsImpl implements Views {
         };
         for (DynamicDisplayGenerator<Display> generator : (List<DynamicDisplayGenerator<Display>>) (List<? extends DynamicDisplayGenerator<?>>) displayRegistry.getGlobalDisplayGenerators()) {
             generatorsCount++;
-            generateLiveDisplays(displayRegistry, wrapForError(generator), builder, displayConsumer);
+            generateLiveDisplays(displayRegistry, generator, builder, displayConsumer);
         }
         
         if (CollectionUtils.allMatch(result.values(), Set::isEmpty) && (!recipesForStacksWildcard.isEmpty() || !usagesForStacksWildcard.isEmpty())) {
@@ -187,20 +190,22 @@ public class ViewsImpl implements Views {
             });
         }
         
-        forCategories(processingVisibilityHandlers, filteringCategories, displayRegistry, result, (configuration, categoryId, displays, set) -> {
-            if (categories.contains(categoryId)) return;
-            for (EntryStack<?> usagesFor : Iterables.concat(usagesForStacks, usagesForStacksWildcard)) {
-                if (isStackWorkStationOfCategory(configuration, usagesFor)) {
-                    categories.add(categoryId);
-                    if (processingVisibilityHandlers) {
-                        set.addAll(CollectionUtils.filterToSet(displays, display -> ((DisplayRegistryImpl) displayRegistry).isDisplayVisible(configuration.getCategory(), display)));
-                    } else {
-                        set.addAll(displays);
-                    }
-                    break;
+        Set<CategoryIdentifier<?>> workstationCategories = new HashSet<>();
+        for (EntryStack<?> usagesFor : Iterables.concat(usagesForStacks, usagesForStacksWildcard)) {
+            workstationCategories.addAll(((CategoryRegistryImpl) CategoryRegistry.getInstance()).getWorkstationCategories(usagesFor));
+        }
+        workstationCategories.removeAll(categories);
+        if (!workstationCategories.isEmpty()) {
+            forCategories(processingVisibilityHandlers, filteringCategories, displayRegistry, result, (configuration, categoryId, displays, set) -> {
+                if (!workstationCategories.contains(categoryId)) return;
+                categories.add(categoryId);
+                if (processingVisibilityHandlers) {
+                    set.addAll(CollectionUtils.filterToSet(displays, display -> ((DisplayRegistryImpl) displayRegistry).isDisplayVisible(configuration.getCategory(), display)));
+                } else {
+                    set.addAll(displays);
                 }
-            }
-        });
+            });
+        }
         
         // Merging displays
         Stopwatch mergingStopwatch = Stopwatch.createStarted(), sortingStopwatch = Stopwatch.createUnstarted();
@@ -302,29 +307,22 @@ public class ViewsImpl implements Views {
         return false;
     }
     
-    private static Iterable<Display> sortAutoCrafting(Iterable<Display> displays) {
-        Set<Display> successfulDisplays = new LinkedHashSet<>();
-        Set<Display> applicableDisplays = new LinkedHashSet<>();
-        
-        for (Display display : displays) {
-            AutoCraftingEvaluator.AutoCraftingResult result = AutoCraftingEvaluator.evaluateAutoCrafting(false, false, display, null);
-            
-            if (result.successful) {
-                successfulDisplays.add(display);
-            } else if (result.hasApplicable) {
-                applicableDisplays.add(display);
-            }
-        }
-        
-        return Iterables.concat(successfulDisplays, applicableDisplays,
-                Iterables.filter(displays, display -> !successfulDisplays.contains(display) && !applicableDisplays.contains(display)));
+    /**
+     * Ranks a display for ordering the recipe screen, successful transfers come first, then displays with an applicable handler.
+     */
+    private static int autoCraftingTier(Display display) {
+        AutoCraftingEvaluator.AutoCraftingResult result = AutoCraftingEvaluator.evaluateAutoCrafting(false, false, display, null);
+        return result.successful ? 0 : result.hasApplicable ? 1 : 2;
     }
     
     private static <T extends Display> void generateLiveDisplays(DisplayRegistry displayRegistry, DynamicDisplayGenerator<T> generator, ViewSearchBuilder builder, Consumer<T> displayConsumer) {
         boolean processingVisibilityHandlers = builder.isProcessingVisibilityHandlers();
+        DynamicDisplayGeneratorCache cache = ((DisplayRegistryImpl) displayRegistry).getGeneratorCache();
+        // Errors are caught outside of the cache, so a failed lookup is retried instead of being cached
+        DynamicDisplayGenerator<T> wrapped = wrapForError(cache.wrap(generator));
         
         for (EntryStack<?> stack : builder.getRecipesFor()) {
-            Optional<List<T>> recipeForDisplays = generator.getRecipeFor(stack);
+            Optional<List<T>> recipeForDisplays = wrapped.getRecipeFor(stack);
             if (recipeForDisplays.isPresent()) {
                 for (T display : recipeForDisplays.get()) {
                     if (!processingVisibilityHandlers || displayRegistry.isDisplayVisible(display)) {
@@ -335,7 +333,7 @@ public class ViewsImpl implements Views {
         }
         
         for (EntryStack<?> stack : builder.getUsagesFor()) {
-            Optional<List<T>> usageForDisplays = generator.getUsageFor(stack);
+            Optional<List<T>> usageForDisplays = wrapped.getUsageFor(stack);
             if (usageForDisplays.isPresent()) {
                 for (T display : usageForDisplays.get()) {
                     if (!processingVisibilityHandlers || displayRegistry.isDisplayVisible(display)) {
@@ -345,7 +343,7 @@ public class ViewsImpl implements Views {
             }
         }
         
-        Optional<List<T>> displaysGenerated = generator.generate(builder);
+        Optional<List<T>> displaysGenerated = wrapped.generate(builder);
         if (displaysGenerated.isPresent()) {
             for (T display : displaysGenerated.get()) {
                 if (!processingVisibilityHandlers || displayRegistry.isDisplayVisible(display)) {
@@ -402,44 +400,26 @@ public class ViewsImpl implements Views {
         return new CraftableFilterCalculator();
     }
     
-    private static <T> boolean isStackWorkStationOfCategory(CategoryRegistry.CategoryConfiguration<?> category, EntryStack<T> stack) {
-        for (EntryIngredient ingredient : category.getWorkstations()) {
-            if (EntryIngredients.testFuzzy(ingredient, stack)) {
-                return true;
-            }
-        }
-        return false;
-    }
-    
     @Override
     public void startReload() {
         
     }
     
     private static void mergeAndOptimize(Map<DisplayCategory<?>, Set<Display>> displays, Map<DisplayCategory<?>, List<DisplaySpec>> resultSpec) {
+        // Nothing can be transferred without a container screen, skip evaluating every display
+        ToIntFunction<Display> tiering = REIRuntime.getInstance().getPreviousContainerScreen() == null ? null : ViewsImpl::autoCraftingTier;
+        
         for (Map.Entry<DisplayCategory<?>, Set<Display>> entry : displays.entrySet()) {
             DisplayMerger<Display> merger = (DisplayMerger<Display>) entry.getKey().getDisplayMerger();
             
             if (merger != null) {
-                Map<WrappedDisplaySpec, WrappedDisplaySpec> wrappedSet = new LinkedHashMap<>();
-                List<WrappedDisplaySpec> specs = new ArrayList<>();
-                
-                for (Display display : sortAutoCrafting(entry.getValue())) {
-                    WrappedDisplaySpec wrapped = new WrappedDisplaySpec(merger, display);
-                    if (wrappedSet.containsKey(wrapped)) {
-                        wrappedSet.get(wrapped).add(display);
-                    } else {
-                        wrappedSet.put(wrapped, wrapped);
-                        specs.add(wrapped);
-                    }
-                }
-                
-                resultSpec.put(entry.getKey(), (List<DisplaySpec>) (List) specs);
+                // Merged and sorted page by page as the category is viewed
+                resultSpec.put(entry.getKey(), new LazyDisplaySpecList(entry.getValue(), merger, tiering));
             }
         }
     }
     
-    private static class WrappedDisplaySpec implements DisplaySpec {
+    static class WrappedDisplaySpec implements DisplaySpec {
         private final DisplayMerger<Display> merger;
         private final Display display;
         private List<ResourceLocation> ids = null;
@@ -256,8 +256,21 @@ public enum EntryIngredientImpl implements Internals.EntryIngredientProvider {
         }
     }
     
+    /**
+     * Returns whether the ingredient can be shared between displays by {@link EntryIngredientInterner},
+     * ingredients carrying settings are bound to the display that set them and are never shared.
+     */
+    static boolean isInternable(EntryIngredient ingredient) {
+        return ingredient instanceof AbstractEntryIngredient abstractIngredient && abstractIngredient.settings == null;
+    }
+    
+    static void freeze(EntryIngredient ingredient) {
+        ((AbstractEntryIngredient) ingredient).frozen = true;
+    }
+    
     private static abstract class AbstractEntryIngredient extends AbstractList<EntryStack<?>> implements EntryIngredient {
         private Map<EntryIngredientSetting<?>, Object> settings = null;
+        private boolean frozen = false;
         
         @Override
         @Nullable
@@ -267,6 +280,9 @@ public enum EntryIngredientImpl implements Internals.EntryIngredientProvider {
         
         @Override
         public <T> EntryIngredient setting(EntryIngredientSetting<T> setting, T value) {
+            if (this.frozen) {
+                throw new UnsupportedOperationException("Cannot apply settings to an interned ingredient, as it is shared between displays!");
+            }
             if (value == null) this.settings = SettingsHandler.remove(this.settings, setting);
             else this.settings = SettingsHandler.set(this.settings, setting, value);
             return this;
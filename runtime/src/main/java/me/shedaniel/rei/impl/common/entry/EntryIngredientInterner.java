@@ -0,0 +1,136 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022, 2023 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl.common.entry;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import me.shedaniel.rei.api.common.entry.EntryIngredient;
+import me.shedaniel.rei.api.common.entry.EntryStack;
+import me.shedaniel.rei.api.common.util.EntryStacks;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deduplicates {@link EntryIngredient}s by their exact contents, so that displays carrying
+ * equal ingredients (e.g. the same tag expanded into planks) share a single immutable instance.
+ * <p>
+ * Ingredients with settings, or containing stacks with settings, are never shared.
+ */
+@ApiStatus.Internal
+public class EntryIngredientInterner {
+    private final Long2ObjectMap<List<EntryIngredient>> pool = new Long2ObjectOpenHashMap<>();
+    private int uniqueCount = 0;
+    private int internedCount = 0;
+    private long savedBytes = 0;
+    
+    public EntryIngredient intern(EntryIngredient ingredient) {
+        if (ingredient.isEmpty() || !EntryIngredientImpl.isInternable(ingredient)) return ingredient;
+        for (EntryStack<?> stack : ingredient) {
+            if (!(stack instanceof AbstractEntryStack<?> abstractStack) || !abstractStack.getSettings().isEmpty()) {
+                return ingredient;
+            }
+        }
+        long hash = hashContents(ingredient);
+        List<EntryIngredient> bucket = this.pool.get(hash);
+        if (bucket == null) {
+            bucket = new ArrayList<>(1);
+            this.pool.put(hash, bucket);
+        } else {
+            for (EntryIngredient canonical : bucket) {
+                if (canonical == ingredient) return canonical;
+                if (equalsContents(canonical, ingredient)) {
+                    this.internedCount++;
+                    this.savedBytes += estimateSize(ingredient);
+                    return canonical;
+                }
+            }
+        }
+        EntryIngredientImpl.freeze(ingredient);
+        bucket.add(ingredient);
+        this.uniqueCount++;
+        return ingredient;
+    }
+    
+    /**
+     * Interns every ingredient of the list, the list is only copied if any of its ingredients were replaced.
+     */
+    public List<EntryIngredient> intern(List<EntryIngredient> ingredients) {
+        List<EntryIngredient> out = null;
+        for (int i = 0; i < ingredients.size(); i++) {
+            EntryIngredient ingredient = ingredients.get(i);
+            EntryIngredient interned = intern(ingredient);
+            if (interned != ingredient) {
+                if (out == null) out = new ArrayList<>(ingredients);
+                out.set(i, interned);
+            }
+        }
+        return out == null ? ingredients : out;
+    }
+    
+    public int getUniqueCount() {
+        return uniqueCount;
+    }
+    
+    public int getInternedCount() {
+        return internedCount;
+    }
+    
+    /**
+     * Returns the estimated amount of bytes no longer retained, from the duplicated ingredients
+     * and their backing arrays.
+     */
+    public long getSavedBytes() {
+        return savedBytes;
+    }
+    
+    private static long hashContents(EntryIngredient ingredient) {
+        long hash = ingredient.size();
+        for (EntryStack<?> stack : ingredient) {
+            hash = hash * 31 + EntryStacks.hashExact(stack);
+        }
+        return hash;
+    }
+    
+    private static boolean equalsContents(EntryIngredient left, EntryIngredient right) {
+        int size = left.size();
+        if (size != right.size()) return false;
+        for (int i = 0; i < size; i++) {
+            if (!EntryStacks.equalsExact(left.get(i), right.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static long estimateSize(EntryIngredient ingredient) {
+        // object header, modCount and settings, then the backing array for multi-stack ingredients
+        long size = 24;
+        if (ingredient.size() > 1) {
+            size += 16 + 4L * ingredient.size();
+        }
+        return size;
+    }
+}
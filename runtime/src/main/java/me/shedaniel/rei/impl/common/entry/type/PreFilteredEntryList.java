@@ -30,13 +30,12 @@ import com.google.common.collect.Lists;
 import it.unimi.dsi.fastutil.longs.*;
 import me.shedaniel.rei.api.client.REIRuntime;
 import me.shedaniel.rei.api.client.config.ConfigObject;
-import me.shedaniel.rei.api.client.config.entry.EntryStackProvider;
 import me.shedaniel.rei.api.client.entry.filtering.FilteringRule;
 import me.shedaniel.rei.api.client.overlay.ScreenOverlay;
 import me.shedaniel.rei.api.client.registry.entry.EntryRegistry;
 import me.shedaniel.rei.api.common.entry.EntryStack;
-import me.shedaniel.rei.api.common.util.CollectionUtils;
 import me.shedaniel.rei.api.common.util.EntryStacks;
+import me.shedaniel.rei.impl.client.config.FilteredStackHashes;
 import me.shedaniel.rei.impl.client.entry.filtering.FilteringContextType;
 import me.shedaniel.rei.impl.common.InternalLogger;
 import me.shedaniel.rei.impl.common.util.HNEntryStackWrapper;
@@ -91,10 +90,8 @@ public class PreFilteredEntryList implements FilteredEntryList {
     public void onReFilter(List<HNEntryStackWrapper> stacks) {
         ConfigObject config = ConfigObject.getInstance();
         if (config.getFilteredStackProviders() != null) {
-            List<EntryStack<?>> normalizedFilteredStacks = CollectionUtils.map(config.getFilteredStackProviders(), EntryStackProvider::provide);
-            normalizedFilteredStacks.removeIf(EntryStack::isEmpty);
-            config.getFilteredStackProviders().clear();
-            config.getFilteredStackProviders().addAll(CollectionUtils.map(normalizedFilteredStacks, EntryStackProvider::ofStack));
+            // Providers normalize their stacks, only drop the ones that no longer resolve
+            config.getFilteredStackProviders().removeIf(provider -> provider == null || FilteredStackHashes.isInvalid(provider));
         }
         
         Stopwatch stopwatch = Stopwatch.createStarted();
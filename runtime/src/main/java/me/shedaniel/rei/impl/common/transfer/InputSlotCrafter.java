@@ -36,7 +36,6 @@ import net.minecraft.world.Container;
 import net.minecraft.world.inventory.AbstractContainerMenu;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.Ingredient;
-import org.jetbrains.annotations.Nullable;
 
 import java.util.Iterator;
 import java.util.List;
@@ -88,47 +87,57 @@ public abstract class InputSlotCrafter<T extends AbstractContainerMenu, C extend
     protected abstract void markDirty();
     
     public void alignRecipeToGrid(Iterable<SlotAccessor> inputStacks, Iterator<Integer> recipeItemIds, int craftsAmount) {
+        SlotTransferPlan plan = new SlotTransferPlan();
         for (SlotAccessor inputStack : inputStacks) {
             if (!recipeItemIds.hasNext()) {
-                return;
+                break;
             }
             
-            this.acceptAlignedInput(recipeItemIds.next(), inputStack, craftsAmount);
+            this.planAlignedInput(plan, recipeItemIds.next(), inputStack, craftsAmount);
         }
+        plan.apply();
     }
     
-    public void acceptAlignedInput(Integer recipeItemId, SlotAccessor inputStack, int craftsAmount) {
+    /**
+     * Plans filling the input slot with the given recipe item, the whole grid is planned
+     * before any slot is modified, see {@link #alignRecipeToGrid(Iterable, Iterator, int)}.
+     */
+    protected void planAlignedInput(SlotTransferPlan plan, int recipeItemId, SlotAccessor inputStack, int craftsAmount) {
         ItemStack toBeTakenStack = RecipeFinder.getStackFromId(recipeItemId);
         if (!toBeTakenStack.isEmpty()) {
-            for (int i = 0; i < craftsAmount; ++i) {
-                this.fillInputSlot(inputStack, toBeTakenStack);
-            }
+            this.planInputSlot(plan, inputStack, toBeTakenStack, craftsAmount);
         }
     }
     
-    protected void fillInputSlot(SlotAccessor slot, ItemStack toBeTakenStack) {
-        SlotAccessor takenSlot = this.takeInventoryStack(toBeTakenStack);
-        if (takenSlot != null) {
-            ItemStack takenStack = takenSlot.getItemStack().copy();
-            if (!takenStack.isEmpty()) {
-                if (takenStack.getCount() > 1) {
-                    takenSlot.takeStack(1);
-                } else {
-                    takenSlot.setItemStack(ItemStack.EMPTY);
-                }
-                
-                takenStack.setCount(1);
-                if (!slot.canPlace(takenStack)) {
-                    return;
-                }
-                
-                if (slot.getItemStack().isEmpty()) {
-                    slot.setItemStack(takenStack);
+    /**
+     * Plans taking {@code count} items matching the given stack from the inventory into the slot.
+     */
+    protected void planInputSlot(SlotTransferPlan plan, SlotAccessor slot, ItemStack toBeTakenStack, int count) {
+        if (!slot.canPlace(toBeTakenStack.copyWithCount(1))) {
+            return;
+        }
+        
+        boolean rejectedModification = false;
+        for (SlotAccessor inventoryStack : inventoryStacks) {
+            if (count <= 0) {
+                return;
+            }
+            
+            ItemStack itemStack = plan.get(inventoryStack);
+            if (isTakeable(toBeTakenStack, itemStack)) {
+                if (!inventoryStack.allowModification(player)) {
+                    rejectedModification = true;
                 } else {
-                    slot.getItemStack().grow(1);
+                    int taken = Math.min(count, itemStack.getCount());
+                    plan.move(inventoryStack, slot, taken);
+                    count -= taken;
                 }
             }
         }
+        
+        if (count > 0 && rejectedModification) {
+            throw new IllegalStateException("Unable to take item from inventory due to slot not allowing modification! Item requested: " + toBeTakenStack);
+        }
     }
     
     protected void fillInputSlots(RecipeFinder recipeFinder, NonNullList<Ingredient> ingredients, boolean hasShift) {
@@ -151,25 +160,8 @@ public abstract class InputSlotCrafter<T extends AbstractContainerMenu, C extend
     
     protected abstract void cleanInputs();
     
-    @Nullable
-    public SlotAccessor takeInventoryStack(ItemStack itemStack) {
-        boolean rejectedModification = false;
-        for (SlotAccessor inventoryStack : inventoryStacks) {
-            ItemStack itemStack1 = inventoryStack.getItemStack();
-            if (!itemStack1.isEmpty() && areItemsEqual(itemStack, itemStack1) && !itemStack1.isDamaged() && !itemStack1.isEnchanted() && !itemStack1.has(DataComponents.CUSTOM_NAME)) {
-                if (!inventoryStack.allowModification(player)) {
-                    rejectedModification = true;
-                } else {
-                    return inventoryStack;
-                }
-            }
-        }
-        
-        if (rejectedModification) {
-            throw new IllegalStateException("Unable to take item from inventory due to slot not allowing modification! Item requested: " + itemStack);
-        }
-        
-        return null;
+    private static boolean isTakeable(ItemStack requested, ItemStack itemStack) {
+        return !itemStack.isEmpty() && areItemsEqual(requested, itemStack) && !itemStack.isDamaged() && !itemStack.isEnchanted() && !itemStack.has(DataComponents.CUSTOM_NAME);
     }
     
     private static boolean areItemsEqual(ItemStack stack1, ItemStack stack2) {
@@ -39,21 +39,29 @@ import net.minecraft.nbt.CompoundTag;
 import net.minecraft.world.inventory.AbstractContainerMenu;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
 public class MenuInfoRegistryImpl implements MenuInfoRegistry {
     private final Map<CategoryIdentifier<?>, Map<Class<? extends AbstractContainerMenu>, List<MenuInfoProvider<?, ?>>>> map = Maps.newLinkedHashMap();
     private final Map<Predicate<CategoryIdentifier<?>>, List<MenuInfoProvider<?, ?>>> mapGeneric = Maps.newLinkedHashMap();
+    /**
+     * The provider chain resolved per category and menu class, in the order {@link #getInternal} tries them.
+     * Cleared whenever a provider is registered or the registry reloads.
+     */
+    private final Map<CategoryIdentifier<?>, Map<Class<?>, List<MenuInfoProvider<?, ?>>>> chains = new ConcurrentHashMap<>();
     
     @Override
     public <C extends AbstractContainerMenu, D extends Display> void register(CategoryIdentifier<D> category, Class<C> menuClass, MenuInfoProvider<C, D> menuInfo) {
         map.computeIfAbsent(category, id -> Maps.newLinkedHashMap())
                 .computeIfAbsent(menuClass, c -> Lists.newArrayList())
                 .add(menuInfo);
+        chains.clear();
         InternalLogger.getInstance().debug("Added menu info for %s [%s]: %s", menuClass, category, menuInfo);
     }
     
@@ -75,6 +83,7 @@ public class MenuInfoRegistryImpl implements MenuInfoRegistry {
                 return this == obj;
             }
         }, id -> Lists.newArrayList()).add(menuInfo);
+        chains.clear();
         InternalLogger.getInstance().debug("Added generic menu info for: %s", menuInfo);
     }
     
@@ -92,40 +101,42 @@ public class MenuInfoRegistryImpl implements MenuInfoRegistry {
     }
     
     private <C extends AbstractContainerMenu, D extends Display> MenuInfo<C, D> getInternal(CategoryIdentifier<D> category, Class<C> menuClass, Function<MenuInfoProvider<C, D>, Optional<MenuInfo<C, D>>> function) {
+        List<MenuInfoProvider<?, ?>> chain = chains.computeIfAbsent(category, $ -> new ConcurrentHashMap<>())
+                .computeIfAbsent(menuClass, $ -> resolveChain(category, menuClass));
+        for (MenuInfoProvider<?, ?> provider : chain) {
+            Optional<MenuInfo<C, D>> info = function.apply((MenuInfoProvider<C, D>) provider);
+            if (info.isPresent()) {
+                return info.get();
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Resolves the providers to try for a category and menu class: the providers of the exact menu class,
+     * then of every assignable menu class in registration order, then the first provider of every matching generic predicate.
+     */
+    private List<MenuInfoProvider<?, ?>> resolveChain(CategoryIdentifier<?> category, Class<?> menuClass) {
+        List<MenuInfoProvider<?, ?>> chain = new ArrayList<>();
         Map<Class<? extends AbstractContainerMenu>, List<MenuInfoProvider<?, ?>>> infoMap = map.get(category);
         if (infoMap != null && !infoMap.isEmpty()) {
-            if (infoMap.containsKey(menuClass)) {
-                for (MenuInfoProvider<?, ?> provider : infoMap.get(menuClass)) {
-                    Optional<MenuInfo<C, D>> info = function.apply((MenuInfoProvider<C, D>) provider);
-                    if (info.isPresent()) {
-                        return info.get();
-                    }
-                }
+            List<MenuInfoProvider<?, ?>> exact = infoMap.get(menuClass);
+            if (exact != null) {
+                chain.addAll(exact);
             }
             for (Map.Entry<Class<? extends AbstractContainerMenu>, List<MenuInfoProvider<?, ?>>> entry : infoMap.entrySet()) {
-                if (entry.getKey().isAssignableFrom(menuClass)) {
-                    for (MenuInfoProvider<?, ?> provider : entry.getValue()) {
-                        Optional<MenuInfo<C, D>> info = function.apply((MenuInfoProvider<C, D>) provider);
-                        if (info.isPresent()) {
-                            return info.get();
-                        }
-                    }
+                if (entry.getKey() != menuClass && entry.getKey().isAssignableFrom(menuClass)) {
+                    chain.addAll(entry.getValue());
                 }
             }
         }
         
         for (Map.Entry<Predicate<CategoryIdentifier<?>>, List<MenuInfoProvider<?, ?>>> entry : mapGeneric.entrySet()) {
-            if (entry.getKey().test(category) && !entry.getValue().isEmpty()) {
-                List<MenuInfoProvider<?, ?>> infoList = entry.getValue();
-                if (!infoList.isEmpty()) {
-                    Optional<MenuInfo<C, D>> info = function.apply((MenuInfoProvider<C, D>) infoList.get(0));
-                    if (info.isPresent()) {
-                        return info.get();
-                    }
-                }
+            if (!entry.getValue().isEmpty() && entry.getKey().test(category)) {
+                chain.add(entry.getValue().get(0));
             }
         }
-        return null;
+        return List.copyOf(chain);
     }
     
     @Override
@@ -137,6 +148,7 @@ public class MenuInfoRegistryImpl implements MenuInfoRegistry {
     public void startReload() {
         map.clear();
         mapGeneric.clear();
+        chains.clear();
     }
     
     @Override
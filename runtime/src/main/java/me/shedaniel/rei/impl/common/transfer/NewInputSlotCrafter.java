@@ -31,7 +31,6 @@ import net.minecraft.world.inventory.AbstractContainerMenu;
 import net.minecraft.world.item.ItemStack;
 
 import java.util.List;
-import java.util.function.Predicate;
 
 public class NewInputSlotCrafter<T extends AbstractContainerMenu, C extends Container> extends InputSlotCrafter<T, C> {
     protected final List<SlotAccessor> inputSlots;
@@ -75,63 +74,15 @@ public class NewInputSlotCrafter<T extends AbstractContainerMenu, C extends Cont
     
     @Override
     protected void cleanInputs() {
+        SlotTransferPlan plan = new SlotTransferPlan();
         for (SlotAccessor slot : getInputSlots()) {
-            ItemStack stackToReturn = slot.getItemStack();
             if (!slot.allowModification(player)) {
                 throw new IllegalStateException("Slot " + slot + " is not modifiable!");
             }
-            if (!stackToReturn.isEmpty()) {
-                for (; !(stackToReturn = slot.getItemStack()).isEmpty(); slot.takeStack(1)) {
-                    ItemStack stackToInsert = stackToReturn.copy();
-                    stackToInsert.setCount(1);
-                    
-                    if (!getDumpHandler().test(stackToInsert)) {
-                        throw new IllegalStateException("rei.rei.no.slot.in.inv");
-                    }
-                }
+            if (!plan.dump(slot, getInventorySlots())) {
+                throw new IllegalStateException("rei.rei.no.slot.in.inv");
             }
         }
-    }
-    
-    private Predicate<ItemStack> getDumpHandler() {
-        return (stackToDump) -> {
-            Iterable<SlotAccessor> inventoryStacks = getInventorySlots();
-            SlotAccessor occupiedSlotWithRoomForStack = getOccupiedSlotWithRoomForStack(stackToDump, inventoryStacks);
-            SlotAccessor emptySlot = getEmptySlot(inventoryStacks);
-            
-            SlotAccessor nextSlot = occupiedSlotWithRoomForStack == null ? emptySlot : occupiedSlotWithRoomForStack;
-            if (nextSlot == null) {
-                return false;
-            }
-            
-            ItemStack stack = stackToDump.copy();
-            stack.setCount(nextSlot.getItemStack().getCount() + stack.getCount());
-            nextSlot.setItemStack(stack);
-            return true;
-        };
-    }
-    
-    static SlotAccessor getOccupiedSlotWithRoomForStack(ItemStack stack, Iterable<SlotAccessor> inventoryStacks) {
-        for (SlotAccessor inventoryStack : inventoryStacks) {
-            if (canStackAddMore(inventoryStack.getItemStack(), stack)) {
-                return inventoryStack;
-            }
-        }
-        
-        return null;
-    }
-    
-    static SlotAccessor getEmptySlot(Iterable<SlotAccessor> inventoryStacks) {
-        for (SlotAccessor inventoryStack : inventoryStacks) {
-            if (inventoryStack.getItemStack().isEmpty()) {
-                return inventoryStack;
-            }
-        }
-        
-        return null;
-    }
-    
-    static boolean canStackAddMore(ItemStack existingStack, ItemStack stack) {
-        return !existingStack.isEmpty() && ItemStack.isSameItemSameComponents(existingStack, stack) && existingStack.isStackable() && existingStack.getCount() + stack.getCount() <= existingStack.getMaxStackSize();
+        plan.apply();
     }
 }
@@ -0,0 +1,113 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022, 2023 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl.common.transfer;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import me.shedaniel.rei.api.common.transfer.info.stack.SlotAccessor;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A plan of item moves between slots. The contents of the slots involved are simulated while planning,
+ * so the whole plan can be validated before any slot is touched, and each move is applied as a single
+ * stack operation instead of one item at a time.
+ */
+public class SlotTransferPlan {
+    private final Map<SlotAccessor, ItemStack> simulated = new Reference2ObjectOpenHashMap<>();
+    private final List<Move> moves = new ArrayList<>();
+    
+    /**
+     * Returns the simulated contents of the slot, the returned stack must not be modified.
+     */
+    public ItemStack get(SlotAccessor slot) {
+        ItemStack stack = simulated.get(slot);
+        return stack != null ? stack : slot.getItemStack();
+    }
+    
+    public void move(SlotAccessor from, SlotAccessor to, int count) {
+        if (count <= 0) return;
+        ItemStack fromStack = get(from);
+        ItemStack toStack = get(to);
+        simulated.put(from, fromStack.getCount() <= count ? ItemStack.EMPTY : fromStack.copyWithCount(fromStack.getCount() - count));
+        simulated.put(to, toStack.isEmpty() ? fromStack.copyWithCount(count) : toStack.copyWithCount(toStack.getCount() + count));
+        moves.add(new Move(from, to, count));
+    }
+    
+    /**
+     * Plans moving the whole stack of the slot into the given slots, filling the occupied slots
+     * with room for the stack first, then the empty slots.
+     *
+     * @return whether there is enough room for the whole stack
+     */
+    public boolean dump(SlotAccessor from, Iterable<SlotAccessor> slots) {
+        ItemStack stack = get(from);
+        int remaining = stack.getCount();
+        if (remaining <= 0) return true;
+        
+        for (SlotAccessor slot : slots) {
+            if (remaining <= 0) return true;
+            ItemStack existing = get(slot);
+            if (!existing.isEmpty() && existing.isStackable() && ItemStack.isSameItemSameComponents(existing, stack)) {
+                int moved = Math.min(remaining, existing.getMaxStackSize() - existing.getCount());
+                if (moved > 0) {
+                    move(from, slot, moved);
+                    remaining -= moved;
+                }
+            }
+        }
+        
+        for (SlotAccessor slot : slots) {
+            if (remaining <= 0) return true;
+            if (get(slot).isEmpty()) {
+                int moved = Math.min(remaining, stack.getMaxStackSize());
+                move(from, slot, moved);
+                remaining -= moved;
+            }
+        }
+        
+        return remaining <= 0;
+    }
+    
+    public void apply() {
+        for (Move move : moves) {
+            ItemStack fromStack = move.from().getItemStack();
+            ItemStack moved = fromStack.copyWithCount(move.count());
+            if (fromStack.getCount() <= move.count()) {
+                move.from().setItemStack(ItemStack.EMPTY);
+            } else {
+                move.from().takeStack(move.count());
+            }
+            
+            ItemStack toStack = move.to().getItemStack();
+            move.to().setItemStack(toStack.isEmpty() ? moved : toStack.copyWithCount(toStack.getCount() + move.count()));
+        }
+        moves.clear();
+        simulated.clear();
+    }
+    
+    private record Move(SlotAccessor from, SlotAccessor to, int count) {}
+}
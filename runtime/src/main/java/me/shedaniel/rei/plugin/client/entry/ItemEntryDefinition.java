@@ -30,8 +30,6 @@ import com.mojang.blaze3d.systems.RenderSystem;
 import dev.architectury.hooks.item.ItemStackHooks;
 import dev.architectury.utils.Env;
 import dev.architectury.utils.EnvExecutor;
-import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
-import it.unimi.dsi.fastutil.objects.ReferenceSet;
 import me.shedaniel.math.Rectangle;
 import me.shedaniel.rei.api.client.entry.renderer.BatchedEntryRenderer;
 import me.shedaniel.rei.api.client.entry.renderer.EntryRenderer;
@@ -45,6 +43,7 @@ import me.shedaniel.rei.api.common.entry.comparison.ItemComparatorRegistry;
 import me.shedaniel.rei.api.common.entry.type.EntryDefinition;
 import me.shedaniel.rei.api.common.entry.type.EntryType;
 import me.shedaniel.rei.api.common.entry.type.VanillaEntryTypes;
+import me.shedaniel.rei.impl.client.search.argument.TooltipQuarantine;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.CrashReport;
@@ -54,7 +53,6 @@ import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.renderer.MultiBufferSource;
 import net.minecraft.client.renderer.texture.OverlayTexture;
 import net.minecraft.client.renderer.texture.TextureAtlas;
-import net.minecraft.client.resources.language.I18n;
 import net.minecraft.client.resources.model.BakedModel;
 import net.minecraft.core.component.DataComponentPatch;
 import net.minecraft.core.registries.BuiltInRegistries;
@@ -194,8 +192,6 @@ public class ItemEntryDefinition implements EntryDefinition<ItemStack>, EntrySer
         return ItemStack.parseOptional(BasicDisplay.registryAccess(), tag);
     }
     
-    private static final ReferenceSet<Item> SEARCH_BLACKLISTED = new ReferenceOpenHashSet<>();
-    
     @Override
     public Component asFormattedText(EntryStack<ItemStack> entry, ItemStack value) {
         return asFormattedText(entry, value, TooltipContext.of(Item.TooltipContext.EMPTY));
@@ -203,16 +199,10 @@ public class ItemEntryDefinition implements EntryDefinition<ItemStack>, EntrySer
     
     @Override
     public Component asFormattedText(EntryStack<ItemStack> entry, ItemStack value, TooltipContext context) {
-        if (!SEARCH_BLACKLISTED.contains(value.getItem()))
-            try {
-                return value.getHoverName();
-            } catch (Throwable e) {
-                if (context != null && context.isSearch()) throw e;
-                e.printStackTrace();
-                SEARCH_BLACKLISTED.add(value.getItem());
-            }
+        Component name = TooltipQuarantine.extract(value.getItem(), value::getHoverName, context != null && context.isSearch());
+        if (name != null) return name;
         try {
-            return Component.literal(I18n.get("item." + BuiltInRegistries.ITEM.getKey(value.getItem()).toString().replace(":", ".")));
+            return Component.translatable(value.getItem().getDescriptionId());
         } catch (Throwable e) {
             e.printStackTrace();
         }
@@ -230,14 +220,8 @@ public class ItemEntryDefinition implements EntryDefinition<ItemStack>, EntrySer
     
     @Environment(EnvType.CLIENT)
     private List<Component> tryGetItemStackToolTip(EntryStack<ItemStack> entry, ItemStack value, TooltipContext context) {
-        if (!SEARCH_BLACKLISTED.contains(value.getItem()))
-            try {
-                return value.getTooltipLines(context.vanillaContext(), Minecraft.getInstance().player, context.getFlag());
-            } catch (Throwable e) {
-                if (context.isSearch()) throw e;
-                e.printStackTrace();
-                SEARCH_BLACKLISTED.add(value.getItem());
-            }
+        List<Component> lines = TooltipQuarantine.extract(value.getItem(), () -> value.getTooltipLines(context.vanillaContext(), Minecraft.getInstance().player, context.getFlag()), context.isSearch());
+        if (lines != null) return lines;
         return Lists.newArrayList(asFormattedText(entry, value, context));
     }
     
@@ -27,6 +27,7 @@ import com.google.common.base.Suppliers;
 import com.mojang.serialization.DataResult;
 import com.mojang.serialization.Lifecycle;
 import dev.architectury.platform.Platform;
+import it.unimi.dsi.fastutil.longs.LongList;
 import me.shedaniel.math.Rectangle;
 import me.shedaniel.rei.RoughlyEnoughItemsCoreClient;
 import me.shedaniel.rei.api.client.ClientHelper;
@@ -68,6 +69,7 @@ import me.shedaniel.rei.impl.client.gui.widget.AutoCraftingEvaluator;
 import me.shedaniel.rei.impl.client.gui.widget.DisplayCompositeWidget;
 import me.shedaniel.rei.impl.client.gui.widget.DisplayTooltipComponent;
 import me.shedaniel.rei.impl.client.gui.widget.favorites.FavoritesListWidget;
+import me.shedaniel.rei.impl.client.search.argument.Argument;
 import me.shedaniel.rei.impl.client.search.method.DefaultInputMethod;
 import me.shedaniel.rei.impl.client.search.method.unihan.*;
 import me.shedaniel.rei.impl.common.InternalLogger;
@@ -133,6 +135,16 @@ public class DefaultClientRuntimePlugin implements REIClientPlugin {
             public void onReFilter(List<HNEntryStackWrapper> stacks) {
                 filteredStacksVisibilityHandler.reset();
             }
+            
+            @Override
+            public void addEntryAfter(@Nullable EntryStack<?> afterEntry, EntryStack<?> stack, long stackHashExact) {
+                Argument.cache.prioritize(List.of(new HNEntryStackWrapper(stack, stackHashExact).normalize()));
+            }
+            
+            @Override
+            public void addEntriesAfter(@Nullable EntryStack<?> afterEntry, List<EntryStack<?>> stacks, @Nullable LongList hashes) {
+                Argument.cache.prioritize(CollectionUtils.map(stacks, stack -> new HNEntryStackWrapper(stack).normalize()));
+            }
         });
     }
     
@@ -45,13 +45,12 @@ public class SearchFilterPrepareWatcher implements HintProvider {
     public List<Component> provide() {
         lastProcess = null;
         try {
-            ArgumentCache cache = Argument.cache;
-            if (cache.currentStep != null && cache.prepareStacks != null && cache.prepareStacks.size() > 100
-                    && cache.prepareStart != null) {
-                if (Util.getEpochMillis() - cache.prepareStart < 100) return Collections.emptyList();
-                int prepareStageCurrent = cache.currentStep.step;
-                int prepareStageTotal = cache.currentStep.totalSteps;
-                ArgumentCache.CurrentStep.Step currentStage = ArrayUtils.get(cache.currentStep.steps, prepareStageCurrent - 1);
+            ArgumentCache.Progress progress = Argument.cache.progress;
+            if (progress != null && progress.stacks().size() > 100) {
+                if (Util.getEpochMillis() - progress.start() < 100) return Collections.emptyList();
+                int prepareStageCurrent = progress.step().step;
+                int prepareStageTotal = progress.step().totalSteps;
+                ArgumentCache.CurrentStep.Step currentStage = ArrayUtils.get(progress.step().steps, prepareStageCurrent - 1);
                 int currentStageCurrent = currentStage == null ? 0 : currentStage.stacks;
                 int currentStageTotal = currentStage == null ? 0 : currentStage.totalStacks;
                 double prepareStageProgress = prepareStageTotal == 0 ? 0 : prepareStageCurrent / (double) prepareStageTotal;
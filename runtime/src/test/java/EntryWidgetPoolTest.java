@@ -0,0 +1,174 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022, 2023 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+import me.shedaniel.clothconfig2.api.animator.NumberAnimator;
+import me.shedaniel.clothconfig2.api.animator.ValueAnimator;
+import me.shedaniel.rei.api.client.REIRuntime;
+import me.shedaniel.rei.api.client.plugins.REIClientPlugin;
+import me.shedaniel.rei.api.common.entry.EntryStack;
+import me.shedaniel.rei.api.common.plugins.PluginManager;
+import me.shedaniel.rei.impl.ClientInternals;
+import me.shedaniel.rei.impl.client.gui.widget.entrylist.EntryListStackEntry;
+import me.shedaniel.rei.impl.client.gui.widget.entrylist.EntryWidgetPool;
+import net.minecraft.SharedConstants;
+import net.minecraft.client.Minecraft;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.Bootstrap;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import sun.misc.Unsafe;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EntryWidgetPoolTest {
+    private static final int ENTRY_SIZE = 18;
+    
+    private static Object previousMinecraft;
+    private static Object previousPluginManager;
+    
+    @BeforeAll
+    static void setup() throws ReflectiveOperationException {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+        
+        // Widgets read the client instance on construction, an uninitialized one is enough as nothing is rendered
+        Field unsafeField = Unsafe.class.getDeclaredField("theUnsafe");
+        unsafeField.setAccessible(true);
+        previousMinecraft = minecraftField().get(null);
+        minecraftField().set(null, ((Unsafe) unsafeField.get(null)).allocateInstance(Minecraft.class));
+        
+        REIRuntime runtime = stub(REIRuntime.class, (proxy, method, args) -> method.getReturnType() == boolean.class ? false : null);
+        PluginManager<REIClientPlugin> pluginManager = stub(PluginManager.class, (proxy, method, args) -> method.getName().equals("get") ? runtime : null);
+        previousPluginManager = pluginManagerField().get(null);
+        ClientInternals.attachInstance((Supplier<PluginManager<REIClientPlugin>>) () -> pluginManager, "clientPluginManager");
+    }
+    
+    // Other tests must not see the stubbed client
+    @AfterAll
+    static void teardown() throws ReflectiveOperationException {
+        minecraftField().set(null, previousMinecraft);
+        pluginManagerField().set(null, previousPluginManager);
+    }
+    
+    private static Field minecraftField() throws NoSuchFieldException {
+        Field field = Minecraft.class.getDeclaredField("instance");
+        field.setAccessible(true);
+        return field;
+    }
+    
+    private static Field pluginManagerField() throws NoSuchFieldException {
+        Field field = ClientInternals.class.getDeclaredField("clientPluginManager");
+        field.setAccessible(true);
+        return field;
+    }
+    
+    @Test
+    void testReuse() {
+        EntryWidgetPool<EntryListStackEntry> pool = new EntryWidgetPool<>();
+        List<EntryListStackEntry> first = obtain(pool, 10);
+        assertEquals(10, pool.size());
+        
+        List<EntryListStackEntry> second = obtain(pool, 10);
+        assertEquals(10, pool.size());
+        for (int i = 0; i < first.size(); i++) {
+            assertSame(first.get(i), second.get(i));
+        }
+        
+        List<EntryListStackEntry> third = obtain(pool, 15);
+        assertEquals(15, pool.size());
+        for (int i = 0; i < first.size(); i++) {
+            assertSame(first.get(i), third.get(i));
+        }
+    }
+    
+    @Test
+    void testStateResetOnRebind() {
+        EntryWidgetPool<EntryListStackEntry> pool = new EntryWidgetPool<>();
+        List<NumberAnimator<Float>> animators = new ArrayList<>();
+        for (EntryListStackEntry widget : obtain(pool, 4)) {
+            EntryStack<?> stack = stub(EntryStack.class, (proxy, method, args) -> switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> null;
+            });
+            widget.entry(stack);
+            widget.our = stack;
+            widget.tagMatch = ResourceLocation.withDefaultNamespace("logs");
+            widget.markIsInput();
+            NumberAnimator<Float> animator = ValueAnimator.ofFloat(0.0F);
+            animator.setTo(1.0F, 10000);
+            widget.setDarkBackgroundAlpha(animator);
+            animators.add(animator);
+        }
+        
+        List<EntryListStackEntry> rebound = obtain(pool, 4);
+        for (int i = 0; i < rebound.size(); i++) {
+            EntryListStackEntry widget = rebound.get(i);
+            assertEquals(i - 1, widget.getBounds().x);
+            assertEquals(i * ENTRY_SIZE - 1, widget.getBounds().y);
+            assertEquals(i * ENTRY_SIZE, widget.backupY);
+            assertTrue(widget.getEntries().isEmpty());
+            assertNull(widget.our);
+            assertNull(widget.tagMatch);
+            assertEquals(0, widget.getNoticeMark());
+            assertEquals(1.0F, animators.get(i).value());
+        }
+    }
+    
+    @Test
+    void testTrim() {
+        EntryWidgetPool<EntryListStackEntry> pool = new EntryWidgetPool<>();
+        obtain(pool, 1000);
+        assertEquals(1000, pool.size());
+        obtain(pool, 10);
+        assertEquals(1000, pool.size());
+        // The excess is only dropped once the smaller batch is done
+        obtain(pool, 10);
+        assertEquals(256, pool.size());
+    }
+    
+    private static List<EntryListStackEntry> obtain(EntryWidgetPool<EntryListStackEntry> pool, int count) {
+        pool.reset();
+        List<EntryListStackEntry> widgets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int x = i, y = i * ENTRY_SIZE;
+            widgets.add(pool.obtain(() -> new EntryListStackEntry(null, x, y, ENTRY_SIZE, false),
+                    widget -> widget.rebind(x, y, ENTRY_SIZE, false)));
+        }
+        return widgets;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<?> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(EntryWidgetPoolTest.class.getClassLoader(), new Class[]{type}, handler);
+    }
+}
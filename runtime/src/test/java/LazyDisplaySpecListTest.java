@@ -0,0 +1,140 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021, 2022, 2023 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+import me.shedaniel.rei.api.common.display.Display;
+import me.shedaniel.rei.api.common.display.DisplayMerger;
+import me.shedaniel.rei.impl.client.view.LazyDisplaySpecList;
+import me.shedaniel.rei.impl.display.DisplaySpec;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LazyDisplaySpecListTest {
+    private static final DisplayMerger<Display> MERGER = new DisplayMerger<>() {
+        @Override
+        public boolean canMerge(Display first, Display second) {
+            return first == second;
+        }
+        
+        @Override
+        public int hashOf(Display display) {
+            return System.identityHashCode(display);
+        }
+    };
+    
+    private static Display display() {
+        return (Display) Proxy.newProxyInstance(LazyDisplaySpecListTest.class.getClassLoader(), new Class[]{Display.class}, (proxy, method, args) -> switch (method.getName()) {
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            case "toString" -> "Display@" + Integer.toHexString(System.identityHashCode(proxy));
+            case "getDisplayLocation" -> Optional.empty();
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+    
+    private static List<Display> displays(int count) {
+        List<Display> displays = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            displays.add(display());
+        }
+        return displays;
+    }
+    
+    @Test
+    public void testFirstPageBounded() {
+        List<Display> displays = displays(LazyDisplaySpecList.CHUNK_SIZE * 20);
+        AtomicInteger calls = new AtomicInteger();
+        LazyDisplaySpecList list = new LazyDisplaySpecList(displays, MERGER, $ -> {
+            calls.incrementAndGet();
+            return 2;
+        });
+        
+        assertEquals(displays.size(), list.size());
+        assertEquals(0, calls.get());
+        list.get(0);
+        assertEquals(LazyDisplaySpecList.CHUNK_SIZE, calls.get());
+        list.get(LazyDisplaySpecList.CHUNK_SIZE - 1);
+        assertEquals(LazyDisplaySpecList.CHUNK_SIZE, calls.get());
+        list.get(LazyDisplaySpecList.CHUNK_SIZE);
+        assertEquals(LazyDisplaySpecList.CHUNK_SIZE * 2, calls.get());
+    }
+    
+    @Test
+    public void testTiersWithinChunk() {
+        List<Display> displays = displays(LazyDisplaySpecList.CHUNK_SIZE * 2);
+        Display successful = displays.get(10);
+        Display applicable = displays.get(5);
+        Display nextChunk = displays.get(LazyDisplaySpecList.CHUNK_SIZE + 3);
+        ToIntFunction<Display> tiering = display -> display == successful || display == nextChunk ? 0 : display == applicable ? 1 : 2;
+        LazyDisplaySpecList list = new LazyDisplaySpecList(displays, MERGER, tiering);
+        
+        assertSame(successful, list.get(0).provideInternalDisplay());
+        assertSame(applicable, list.get(1).provideInternalDisplay());
+        assertSame(displays.get(0), list.get(2).provideInternalDisplay());
+        assertSame(nextChunk, list.get(LazyDisplaySpecList.CHUNK_SIZE).provideInternalDisplay());
+        
+        Set<Display> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (DisplaySpec spec : list) {
+            assertTrue(seen.add(spec.provideInternalDisplay()));
+        }
+        assertEquals(displays.size(), seen.size());
+    }
+    
+    @Test
+    public void testMergedGroups() {
+        List<Display> displays = displays(LazyDisplaySpecList.CHUNK_SIZE * 3);
+        Set<Display> firstGroup = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = 0; i < displays.size(); i += 2) {
+            firstGroup.add(displays.get(i));
+        }
+        DisplayMerger<Display> merger = new DisplayMerger<>() {
+            @Override
+            public boolean canMerge(Display first, Display second) {
+                return firstGroup.contains(first) == firstGroup.contains(second);
+            }
+            
+            @Override
+            public int hashOf(Display display) {
+                return firstGroup.contains(display) ? 1 : 2;
+            }
+        };
+        Display best = displays.get(LazyDisplaySpecList.CHUNK_SIZE * 2 + 1);
+        AtomicInteger calls = new AtomicInteger();
+        LazyDisplaySpecList list = new LazyDisplaySpecList(displays, merger, display -> {
+            calls.incrementAndGet();
+            return display == best ? 0 : 2;
+        });
+        
+        assertEquals(2, list.size());
+        // Both groups are in the first chunk, the best display of the second group is not evaluated
+        assertSame(displays.get(0), list.get(0).provideInternalDisplay());
+        assertSame(displays.get(1), list.get(1).provideInternalDisplay());
+        assertEquals(LazyDisplaySpecList.CHUNK_SIZE, calls.get());
+    }
+}